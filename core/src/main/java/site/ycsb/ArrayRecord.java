@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The field/value pairs of a record, kept in an array indexed by the fields of a {@link RecordSchema}.
+ *
+ * It is a Map for the bindings handling records as such, but the workload builds it by index, without
+ * hashing fields nor allocating entries, and bindings may read it by index as well:
+ * <pre>
+ *   if (values instanceof ArrayRecord) {
+ *     ArrayRecord record = (ArrayRecord) values;
+ *     for (int i = 0; i &lt; record.schema().size(); i++) {
+ *       ByteIterator value = record.get(i); // null if the field is not set
+ *     }
+ *   }
+ * </pre>
+ * Only the fields of the schema can be set, and values can not be null.
+ */
+public final class ArrayRecord extends AbstractMap<ByteIterator, ByteIterator> {
+  private final RecordSchema schema;
+  private final ByteIterator[] values;
+  private int size;
+  private Set<Map.Entry<ByteIterator, ByteIterator>> entries;
+
+  /**
+   * Creates a record with no field set.
+   */
+  public ArrayRecord(RecordSchema schema) {
+    this.schema = schema;
+    this.values = new ByteIterator[schema.size()];
+  }
+
+  public RecordSchema schema() {
+    return schema;
+  }
+
+  /**
+   * The value of the field at the given index of the schema, or null if it is not set.
+   */
+  public ByteIterator get(int index) {
+    return values[index];
+  }
+
+  /**
+   * Sets the value of the field at the given index of the schema, or unsets it if value is null.
+   *
+   * @return the previous value, or null if the field was not set.
+   */
+  public ByteIterator set(int index, ByteIterator value) {
+    ByteIterator previous = values[index];
+    values[index] = value;
+    if (previous == null && value != null) {
+      size++;
+    } else if (previous != null && value == null) {
+      size--;
+    }
+    return previous;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object field) {
+    int index = schema.indexOf(field);
+    return index >= 0 && values[index] != null;
+  }
+
+  @Override
+  public ByteIterator get(Object field) {
+    int index = schema.indexOf(field);
+    return index >= 0 ? values[index] : null;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the field is not in the schema.
+   * @throws NullPointerException if the value is null.
+   */
+  @Override
+  public ByteIterator put(ByteIterator field, ByteIterator value) {
+    int index = schema.indexOf(field);
+    if (index < 0) {
+      throw new IllegalArgumentException("No field " + field + " in the schema");
+    } else if (value == null) {
+      throw new NullPointerException("Null value for field " + field);
+    }
+    return set(index, value);
+  }
+
+  @Override
+  public void putAll(Map<? extends ByteIterator, ? extends ByteIterator> m) {
+    if (m instanceof ArrayRecord && ((ArrayRecord) m).schema == schema) {
+      ByteIterator[] other = ((ArrayRecord) m).values;
+      for (int i = 0; i < other.length; i++) {
+        if (other[i] != null) {
+          set(i, other[i]);
+        }
+      }
+    } else {
+      super.putAll(m);
+    }
+  }
+
+  @Override
+  public ByteIterator remove(Object field) {
+    int index = schema.indexOf(field);
+    return index >= 0 ? set(index, null) : null;
+  }
+
+  @Override
+  public void clear() {
+    for (int i = 0; i < values.length; i++) {
+      values[i] = null;
+    }
+    size = 0;
+  }
+
+  @Override
+  public Set<Map.Entry<ByteIterator, ByteIterator>> entrySet() {
+    if (entries == null) {
+      entries = new EntrySet();
+    }
+    return entries;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<ByteIterator, ByteIterator>> {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      ArrayRecord.this.clear();
+    }
+
+    @Override
+    public Iterator<Map.Entry<ByteIterator, ByteIterator>> iterator() {
+      return new Iterator<Map.Entry<ByteIterator, ByteIterator>>() {
+        private int next = advance(0);
+        private int last = -1;
+
+        private int advance(int from) {
+          int i = from;
+          while (i < values.length && values[i] == null) {
+            i++;
+          }
+          return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return next < values.length;
+        }
+
+        @Override
+        public Map.Entry<ByteIterator, ByteIterator> next() {
+          if (next >= values.length) {
+            throw new NoSuchElementException();
+          }
+          last = next;
+          next = advance(next + 1);
+          return new Field(last);
+        }
+
+        @Override
+        public void remove() {
+          if (last < 0) {
+            throw new IllegalStateException();
+          }
+          set(last, null);
+          last = -1;
+        }
+      };
+    }
+  }
+
+  /**
+   * The entry of a field, reading and writing through to the record.
+   */
+  private final class Field implements Map.Entry<ByteIterator, ByteIterator> {
+    private final int index;
+
+    Field(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public ByteIterator getKey() {
+      return schema.field(index);
+    }
+
+    @Override
+    public ByteIterator getValue() {
+      return values[index];
+    }
+
+    @Override
+    public ByteIterator setValue(ByteIterator value) {
+      if (value == null) {
+        throw new NullPointerException("Null value for field " + getKey());
+      }
+      return set(index, value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      ByteIterator value = getValue();
+      return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the arrival times of an open-loop run, shared by all the client threads.
+ *
+ * Arrivals follow a fixed schedule, either at a constant rate or as a Poisson process, which does not
+ * depend on how fast the database answers. Client threads claim the next arrival when they become
+ * idle, so a stalled operation delays only the operations that could not find an idle thread. The time
+ * an operation waited for a thread is its queueing delay.
+ *
+ * The schedule starts when the first arrival is claimed.
+ */
+public class ArrivalScheduler {
+  private static final long NOT_STARTED = Long.MIN_VALUE;
+
+  private final boolean poisson;
+  private final double intervalNs;
+  private final long count;
+
+  private final AtomicLong claimed = new AtomicLong(0);
+  private final AtomicLong origin = new AtomicLong(NOT_STARTED);
+  private final AtomicLong last = new AtomicLong(NOT_STARTED);
+
+  /**
+   * @param poisson true for exponentially distributed inter-arrival times, false for a constant rate.
+   * @param opsPerSecond the mean arrival rate.
+   * @param count the number of arrivals to generate, or 0 for no limit.
+   */
+  public ArrivalScheduler(boolean poisson, double opsPerSecond, long count) {
+    this.poisson = poisson;
+    this.intervalNs = 1e9 / opsPerSecond;
+    this.count = count;
+  }
+
+  /**
+   * Claim the next arrival.
+   *
+   * @return the arrival time in nanoseconds (as in {@link System#nanoTime()}), or -1 once all the
+   * arrivals were claimed.
+   */
+  public long nextArrivalNs() {
+    long index = claimed.getAndIncrement();
+    if (count > 0 && index >= count) {
+      return -1;
+    }
+    long start = origin();
+    if (!poisson) {
+      return start + (long) (index * intervalNs);
+    }
+    long prev;
+    long next;
+    do {
+      prev = last.get();
+      double gap = -Math.log(1.0 - Utils.random().nextDouble()) * intervalNs;
+      next = (prev == NOT_STARTED ? start : prev) + (long) gap;
+    } while (!last.compareAndSet(prev, next));
+    return next;
+  }
+
+  private long origin() {
+    long start = origin.get();
+    if (start == NOT_STARTED) {
+      origin.compareAndSet(NOT_STARTED, System.nanoTime());
+      start = origin.get();
+    }
+    return start;
+  }
+}
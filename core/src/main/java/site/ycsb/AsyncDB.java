@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import javax.xml.ws.Holder;
+
+/**
+ * A layer for accessing a database whose operations complete asynchronously.
+ *
+ * Each operation returns as soon as it has been issued, and the returned stage completes with the
+ * operation's status once the database answered. This lets a single client thread keep several
+ * operations in flight (see the "async" client executor in {@link Client}).
+ *
+ * The blocking methods inherited from {@link DB} are implemented by waiting on their asynchronous
+ * counterpart, so an AsyncDB can still be driven by the default one-operation-per-thread executor.
+ * Result containers passed to an asynchronous read or scan must not be inspected before the returned
+ * stage completes.
+ */
+public abstract class AsyncDB extends DB {
+
+  /**
+   * Read a record from the database, see {@link DB#read}.
+   *
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> readAsync(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                                                    Holder<Map<ByteIterator, ByteIterator>> result);
+
+  /**
+   * Perform a range scan for a set of records in the database, see {@link DB#scan}.
+   *
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> scanAsync(ByteIterator table, ByteIterator startkey, int recordcount,
+                                                    Set<ByteIterator> fields,
+                                                    Vector<HashMap<ByteIterator, ByteIterator>> result);
+
+  /**
+   * Update a record in the database, see {@link DB#update}.
+   *
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> updateAsync(ByteIterator table, ByteIterator key,
+                                                      Map<ByteIterator, ByteIterator> values);
+
+  /**
+   * Insert a record in the database, see {@link DB#insert}.
+   *
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> insertAsync(ByteIterator table, ByteIterator key,
+                                                      Map<ByteIterator, ByteIterator> values);
+
+  /**
+   * Delete a record from the database, see {@link DB#delete}.
+   *
+   * @return A stage completing with the result of the operation.
+   */
+  public abstract CompletionStage<Status> deleteAsync(ByteIterator table, ByteIterator key);
+
+  @Override
+  public Status read(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                     Holder<Map<ByteIterator, ByteIterator>> result) {
+    return await(readAsync(table, key, fields, result));
+  }
+
+  @Override
+  public Status scan(ByteIterator table, ByteIterator startkey, int recordcount, Set<ByteIterator> fields,
+                     Vector<HashMap<ByteIterator, ByteIterator>> result) {
+    return await(scanAsync(table, startkey, recordcount, fields, result));
+  }
+
+  @Override
+  public Status update(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+    return await(updateAsync(table, key, values));
+  }
+
+  @Override
+  public Status insert(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+    return await(insertAsync(table, key, values));
+  }
+
+  @Override
+  public Status delete(ByteIterator table, ByteIterator key) {
+    return await(deleteAsync(table, key));
+  }
+
+  /**
+   * Wait for an asynchronous operation to complete.
+   *
+   * @return The status of the operation, or {@link Status#ERROR} if it completed exceptionally.
+   */
+  protected static Status await(CompletionStage<Status> stage) {
+    try {
+      return stage.toCompletableFuture().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Status.ERROR;
+    } catch (ExecutionException e) {
+      return Status.ERROR;
+    }
+  }
+}
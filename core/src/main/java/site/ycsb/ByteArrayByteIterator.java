@@ -16,6 +16,9 @@
  */
 package site.ycsb;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  *  A ByteIterator that iterates through a byte array.
  */
@@ -70,9 +73,69 @@ public class ByteArrayByteIterator implements ByteIterator {
     return bytes;
   }
 
+  @Override
+  public ByteBuffer asByteBuffer() {
+    ByteBuffer ret = ByteBuffer.wrap(str, off, len - off).slice();
+    off = len;
+    return ret;
+  }
+
+  /**
+   * Returns the remaining contents as a string. As for a {@link StringByteIterator}, an iterator not
+   * consumed yet is left as it is, so that a stored value can be read more than once.
+   */
   @Override
   public String toString() {
+    if (off == originalOffset) {
+      return new String(str, off, len - off, StandardCharsets.UTF_8);
+    }
     return ByteIterator.super.toString1();
   }
 
+  @Override
+  public CharSequence asCharSequence() {
+    return new Chars(str, off, len);
+  }
+
+  /**
+   * A view of a range of a byte array as chars, one per byte.
+   */
+  private static final class Chars implements CharSequence {
+    private final byte[] bytes;
+    private final int start;
+    private final int end;
+
+    private Chars(byte[] bytes, int start, int end) {
+      this.bytes = bytes;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= end - start) {
+        throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+      }
+      return (char) (bytes[start + index] & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      if (from < 0 || from > to || to > end - start) {
+        throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + (end - start));
+      }
+      return new Chars(bytes, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+  }
+
 }
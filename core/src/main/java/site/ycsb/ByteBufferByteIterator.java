@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import lib.util.persistent.PersistentString;
+import eu.telecomsudparis.jnvm.offheap.OffHeapString;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * A ByteIterator that iterates through the remaining bytes of a ByteBuffer, on the heap or direct.
+ *
+ * The buffer given is not modified, the iterator reads through its own view of it.
+ * {@link #asByteBuffer()} returns the remaining bytes without copying them, so that bindings can hand
+ * them to NIO or native APIs as they are.
+ */
+public class ByteBufferByteIterator implements ByteIterator {
+  private final ByteBuffer buf;
+  private final int start;
+
+  public ByteBufferByteIterator(ByteBuffer buffer) {
+    this.buf = buffer.duplicate();
+    this.start = buf.position();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return buf.hasRemaining();
+  }
+
+  @Override
+  public byte nextByte() {
+    return buf.get();
+  }
+
+  @Override
+  public int nextBuf(byte[] buffer, int bufOff) {
+    int n = Math.min(buffer.length - bufOff, buf.remaining());
+    buf.get(buffer, bufOff, n);
+    return bufOff + n;
+  }
+
+  @Override
+  public long bytesLeft() {
+    return buf.remaining();
+  }
+
+  @Override
+  public void reset() {
+    // through Buffer, which has the same position method from Java 8 on
+    ((Buffer) buf).position(start);
+  }
+
+  @Override
+  public byte[] toArray() {
+    byte[] bytes = new byte[buf.remaining()];
+    buf.get(bytes);
+    return bytes;
+  }
+
+  @Override
+  public ByteBuffer asByteBuffer() {
+    ByteBuffer ret = buf.slice();
+    ((Buffer) buf).position(buf.limit());
+    return ret;
+  }
+
+  @Override
+  public OffHeapString toOffHeapString() {
+    return new OffHeapString(this.toString());
+  }
+
+  @Override
+  public OffHeapStringByteIterator toOffHeapStringByteIterator() {
+    return new OffHeapStringByteIterator(this.toString());
+  }
+
+  @Override
+  public PersistentString toPersistentString() {
+    return PersistentString.make(this.toString());
+  }
+
+  @Override
+  public PersistentStringByteIterator toPersistentStringByteIterator() {
+    return new PersistentStringByteIterator(this.toPersistentString());
+  }
+
+  @Override
+  public String toString() {
+    return ByteIterator.super.toString1();
+  }
+
+  @Override
+  public StringByteIterator toStringByteIterator() {
+    return new StringByteIterator(this.toString());
+  }
+}
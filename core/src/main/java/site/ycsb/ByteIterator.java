@@ -108,6 +108,23 @@ public interface ByteIterator extends Iterator<Byte>, Convertible<OffHeapStringB
     return ret;
   }
 
+  /**
+   * Consumes remaining contents of this object, and returns them as a byte buffer. Implementations
+   * backed by memory return a view of it, without copying, so the buffer must not be modified.
+   */
+  default ByteBuffer asByteBuffer() {
+    return ByteBuffer.wrap(toArray());
+  }
+
+  /**
+   * Returns the remaining contents of this object as chars, one per byte. The default implementation
+   * returns toString(). Implementations backed by memory return a view of it instead, without copying or
+   * consuming it.
+   */
+  default CharSequence asCharSequence() {
+    return toString();
+  }
+
 /*
   //Not working
   default int compareTo(ByteIterator anotherByteIterator) {
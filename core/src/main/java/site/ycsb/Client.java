@@ -28,6 +28,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.reflect.Method;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.CountDownLatch;
@@ -155,11 +156,70 @@ public final class Client {
    */
   public static final String LABEL_PROPERTY = "label";
 
+  /**
+   * How operations of the transaction phase are paced when a target is set: "closed" paces each client
+   * thread on its own, "constant" and "poisson" generate arrivals centrally at the target rate, with
+   * constant or exponentially distributed inter-arrival times, and the client threads serve them as a pool,
+   * one at a time each. These two require a target.
+   */
+  public static final String ARRIVAL_PROCESS_PROPERTY = "arrivalprocess";
+
+  /**
+   * The default arrival process.
+   */
+  public static final String ARRIVAL_PROCESS_PROPERTY_DEFAULT = "closed";
+
+  /**
+   * How the client threads issue their operations: "thread" runs one blocking operation at a time per
+   * client thread, "async" keeps up to {@link #ASYNC_INFLIGHT_PROPERTY} operations in flight per client
+   * thread through the {@link AsyncDB} interface, and "virtual" runs each client thread on a virtual
+   * thread (Java 21 and later) so that very large thread counts can be simulated.
+   */
+  public static final String CLIENT_EXECUTOR_PROPERTY = "clientexecutor";
+
+  /**
+   * The default client executor.
+   */
+  public static final String CLIENT_EXECUTOR_PROPERTY_DEFAULT = "thread";
+
+  /**
+   * The maximum number of outstanding operations per client thread with the "async" client executor.
+   */
+  public static final String ASYNC_INFLIGHT_PROPERTY = "async.inflight";
+
+  /**
+   * The default maximum number of outstanding operations per client thread.
+   */
+  public static final String ASYNC_INFLIGHT_PROPERTY_DEFAULT = "16";
+
+  /**
+   * The number of operations each client thread keeps outstanding against bindings implementing
+   * {@link AsyncDB}, whatever the client executor. Overrides {@link #ASYNC_INFLIGHT_PROPERTY} when above 1.
+   */
+  public static final String PIPELINE_DEPTH_PROPERTY = "pipeline.depth";
+
+  /**
+   * The number of carrier threads running the virtual client threads, defaults to the number of
+   * available processors.
+   */
+  public static final String CLIENT_EXECUTOR_CARRIERS_PROPERTY = "clientexecutor.carriers";
+
+  /**
+   * The seed of the random streams of the run. Runs with the same seed and thread count draw the same
+   * keys, fields, values and operations in each client thread.
+   */
+  public static final String RANDOM_SEED_PROPERTY = "randomseed";
+
   /**
    * An optional thread used to track progress and measure JVM stats.
    */
   private static StatusThread statusthread = null;
 
+  /**
+   * An optional thread searching for the knee throughput.
+   */
+  private static KneeSearchThread kneesearchthread = null;
+
   // HTrace integration related constants.
 
   /**
@@ -272,6 +332,10 @@ public final class Client {
         exporter.write("MIN_SYS_LOAD_AVG", "Load", statusthread.getMinLoadAvg());
       }
 
+      if (kneesearchthread != null) {
+        kneesearchthread.exportMeasurements(exporter);
+      }
+
       Measurements.getMeasurements().exportMeasurements(exporter);
     } finally {
       if (exporter != null) {
@@ -294,6 +358,28 @@ public final class Client {
     String dbname = props.getProperty(DB_PROPERTY, "site.ycsb.BasicDB");
     int target = Integer.parseInt(props.getProperty(TARGET_PROPERTY, "0"));
 
+    boolean kneesearch = Boolean.parseBoolean(props.getProperty(KneeSearchThread.KNEE_SEARCH_PROPERTY, "false"));
+    if (kneesearch) {
+      if (!props.getProperty(ARRIVAL_PROCESS_PROPERTY, ARRIVAL_PROCESS_PROPERTY_DEFAULT).equals("closed")) {
+        System.err.println("The knee search requires the closed arrival process.");
+        System.exit(0);
+      }
+      // only the HdrHistogram measurements keep the windows of latencies the search checks against the SLO
+      if (!props.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram").startsWith("hdrhistogram")) {
+        System.err.println("The knee search requires one of the hdrhistogram measurement types.");
+        System.exit(0);
+      }
+      // each phase would set its own target over the one of the search
+      if (!props.getProperty(PhaseSchedule.PHASES_PROPERTY, "").trim().isEmpty()
+          || Integer.parseInt(props.getProperty(PhaseSchedule.WARMUP_OPERATION_COUNT_PROPERTY, "0")) > 0
+          || Long.parseLong(props.getProperty(PhaseSchedule.WARMUP_TIME_PROPERTY, "0")) > 0) {
+        System.err.println("The knee search can not run with phases or a warm-up.");
+        System.exit(0);
+      }
+      target = (int) Double.parseDouble(props.getProperty(KneeSearchThread.START_PROPERTY,
+          KneeSearchThread.START_PROPERTY_DEFAULT));
+    }
+
     //compute the target throughput
     double targetperthreadperms = -1;
     if (target > 0) {
@@ -306,6 +392,11 @@ public final class Client {
 
     Measurements.setProperties(props);
 
+    String seed = props.getProperty(RANDOM_SEED_PROPERTY);
+    if (seed != null) {
+      Utils.seedRandom(Long.parseLong(seed));
+    }
+
     Workload workload = getWorkload(props);
 
     final Tracer tracer = getTracer(props, workload);
@@ -338,9 +429,11 @@ public final class Client {
 
     try (final TraceScope span = tracer.newScope(CLIENT_WORKLOAD_SPAN)) {
 
+      final boolean virtual = useVirtualThreads(props, clients);
       final Map<Thread, ClientThread> threads = new HashMap<>(threadcount);
       for (ClientThread client : clients) {
-        threads.put(new Thread(tracer.wrap(client, "ClientThread")), client);
+        Runnable runnable = tracer.wrap(client, "ClientThread");
+        threads.put(virtual ? newVirtualThread(runnable) : new Thread(runnable), client);
       }
 
       st = System.currentTimeMillis();
@@ -354,6 +447,11 @@ public final class Client {
         terminator.start();
       }
 
+      if (kneesearch) {
+        kneesearchthread = new KneeSearchThread(completeLatch, clients, workload, props);
+        kneesearchthread.start();
+      }
+
       opsDone = 0;
 
       for (Map.Entry<Thread, ClientThread> entry : threads.entrySet()) {
@@ -366,6 +464,11 @@ public final class Client {
       }
 
       en = System.currentTimeMillis();
+      PhaseSchedule phases = clients.isEmpty() ? null : clients.get(0).getPhases();
+      if (phases != null && phases.getMeasuredStartMs() > 0) {
+        // the warm-up is neither counted nor timed
+        st = phases.getMeasuredStartMs();
+      }
     }
 
     try {
@@ -375,6 +478,15 @@ public final class Client {
           terminator.interrupt();
         }
 
+        if (kneesearchthread != null) {
+          kneesearchthread.interrupt();
+          try {
+            kneesearchthread.join();
+          } catch (InterruptedException ignored) {
+            // ignored
+          }
+        }
+
         if (status) {
           // wake up status thread if it's asleep
           statusthread.interrupt();
@@ -407,13 +519,65 @@ public final class Client {
     System.exit(0);
   }
 
+  /**
+   * Whether the client threads should run on virtual threads. This requires the "virtual" client executor,
+   * a JVM providing virtual threads and bindings that do not pin their carrier thread; otherwise platform
+   * threads are used. The allocations and CPU time of virtual threads can not be measured.
+   */
+  private static boolean useVirtualThreads(Properties props, List<ClientThread> clients) {
+    if (!props.getProperty(CLIENT_EXECUTOR_PROPERTY, CLIENT_EXECUTOR_PROPERTY_DEFAULT).equals("virtual")) {
+      return false;
+    }
+    try {
+      Thread.class.getMethod("ofVirtual");
+    } catch (NoSuchMethodException e) {
+      System.err.println("Warning: virtual threads are not available in this JVM, using platform threads.");
+      return false;
+    }
+    for (ClientThread client : clients) {
+      if (!client.supportsVirtualThreads()) {
+        System.err.println("Warning: the DB binding pins carrier threads, using platform threads.");
+        return false;
+      }
+    }
+    if (Boolean.parseBoolean(props.getProperty(DBWrapper.MEASUREMENT_ALLOCATION_PROPERTY,
+        DBWrapper.MEASUREMENT_ALLOCATION_PROPERTY_DEFAULT))) {
+      System.err.println("The JVM does not report the allocations and CPU time of virtual threads, "
+          + "measurement.allocation requires another client executor.");
+      System.exit(0);
+    }
+    String carriers = props.getProperty(CLIENT_EXECUTOR_CARRIERS_PROPERTY);
+    if (carriers != null) {
+      // Read once by the JVM, when the first virtual thread is created.
+      System.setProperty("jdk.virtualThreadScheduler.parallelism", carriers);
+      System.setProperty("jdk.virtualThreadScheduler.maxPoolSize",
+          String.valueOf(Math.max(Integer.parseInt(carriers), 256)));
+    }
+    return true;
+  }
+
+  /**
+   * Creates an unstarted virtual thread. Reflection is used as the client is built for Java 8.
+   */
+  private static Thread newVirtualThread(Runnable runnable) {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Method unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+      return (Thread) unstarted.invoke(builder, runnable);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not create a virtual thread", e);
+    }
+  }
+
   private static List<ClientThread> initDb(String dbname, Properties props, int threadcount,
                                            double targetperthreadperms, Workload workload, Tracer tracer,
                                            CountDownLatch completeLatch) {
     boolean initFailed = false;
     boolean dotransactions = Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)));
     boolean dopreload = Boolean.valueOf(props.getProperty(DO_PRELOAD_PROPERTY, String.valueOf(false)));
-    final CyclicBarrier loadBarrier = new CyclicBarrier(threadcount);
+    // the threads measure the load once it is over for all of them, in the untagged measurements of the run
+    final CyclicBarrier loadBarrier = new CyclicBarrier(threadcount,
+        () -> Measurements.getMeasurements().startPhase(null));
 
     final List<ClientThread> clients = new ArrayList<>(threadcount);
     try (final TraceScope span = tracer.newScope(CLIENT_INIT_SPAN)) {
@@ -421,7 +585,7 @@ public final class Client {
       int loadopcount = 0;
       if (dotransactions) {
         opcount = Integer.parseInt(props.getProperty(OPERATION_COUNT_PROPERTY, "0"));
-        if (threadcount > opcount){
+        if (threadcount > opcount && !props.containsKey(PhaseSchedule.PHASES_PROPERTY)){
           threadcount = opcount;
           System.out.println("Warning: the threadcount is bigger than recordcount,"
                              + " the threadcount will be recordcount!");
@@ -439,6 +603,57 @@ public final class Client {
                              + " the threadcount will be recordcount!");
         }
       }
+      int maxinflight = 1;
+      String executor = props.getProperty(CLIENT_EXECUTOR_PROPERTY, CLIENT_EXECUTOR_PROPERTY_DEFAULT);
+      if (executor.equals("async")) {
+        maxinflight = Integer.parseInt(props.getProperty(ASYNC_INFLIGHT_PROPERTY, ASYNC_INFLIGHT_PROPERTY_DEFAULT));
+      } else if (!executor.equals("thread") && !executor.equals("virtual")) {
+        System.err.println("Unknown client executor " + executor);
+        System.exit(0);
+      }
+      int pipelinedepth = Integer.parseInt(props.getProperty(PIPELINE_DEPTH_PROPERTY, "1"));
+      if (pipelinedepth > 1) {
+        maxinflight = pipelinedepth;
+      }
+      ArrivalScheduler arrivals = null;
+      String arrivalprocess = props.getProperty(ARRIVAL_PROCESS_PROPERTY, ARRIVAL_PROCESS_PROPERTY_DEFAULT);
+      if (!arrivalprocess.equals("closed") && !arrivalprocess.equals("constant")
+          && !arrivalprocess.equals("poisson")) {
+        System.err.println("Unknown arrival process " + arrivalprocess);
+        System.exit(0);
+      }
+      PhaseSchedule phases = null;
+      if (dotransactions) {
+        try {
+          phases = PhaseSchedule.create(props, workload, threadcount);
+        } catch (WorkloadException e) {
+          System.err.println(e.getMessage());
+          System.exit(0);
+        }
+      }
+      if (dopreload && phases != null && phases.hasWarmup()) {
+        // the end of the warm-up resets the measurements of the run, but not those of the load
+        Measurements.getMeasurements().startPhase(Measurements.LOAD_PHASE);
+      }
+      int target = Integer.parseInt(props.getProperty(TARGET_PROPERTY, "0"));
+      if (dotransactions && !arrivalprocess.equals("closed")) {
+        // the arrivals are scheduled once for the whole run, at a single target
+        if (phases != null) {
+          System.err.println("The " + arrivalprocess + " arrival process can not run with phases or a warm-up.");
+          System.exit(0);
+        }
+        if (target <= 0) {
+          System.err.println("The " + arrivalprocess + " arrival process requires a target.");
+          System.exit(0);
+        }
+        // each client thread serves one arrival at a time
+        if (maxinflight > 1) {
+          System.err.println("The " + arrivalprocess + " arrival process can not run with the async client "
+              + "executor or a pipeline.depth above 1.");
+          System.exit(0);
+        }
+        arrivals = new ArrivalScheduler(arrivalprocess.equals("poisson"), target, opcount);
+      }
       for (int threadid = 0; threadid < threadcount; threadid++) {
         DB db;
         try {
@@ -465,6 +680,10 @@ public final class Client {
         t.setLoad(dopreload, threadloadopcount, loadBarrier);
         t.setThreadId(threadid);
         t.setThreadCount(threadcount);
+        t.setMaxInflight(maxinflight);
+        t.setArrivals(arrivals);
+        t.setPhases(phases);
+        t.setRandom(Utils.splitRandom());
         clients.add(t);
       }
 
@@ -21,9 +21,13 @@ import site.ycsb.measurements.Measurements;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 
 /**
@@ -47,9 +51,18 @@ public class ClientThread implements Runnable {
   private int opsdone;
   private int threadid;
   private int threadcount;
+  private int maxinflight = 1;
+  private ArrivalScheduler arrivals;
+  private PhaseSchedule phases;
+  private SplittableRandom random;
+  private boolean workloaddone;
+  private long phaseDeadlineNs;
   private Object workloadstate;
   private Properties props;
   private long targetOpsTickNs;
+  private long throttleStartNanos;
+  private volatile double retargetOpsPerMs;
+  private volatile boolean retarget;
   private final Measurements measurements;
 
   /**
@@ -88,6 +101,42 @@ public class ClientThread implements Runnable {
     threadcount = threadCount;
   }
 
+  /**
+   * Keep up to maxInflight operations outstanding, when the DB supports asynchronous operations.
+   */
+  public void setMaxInflight(final int maxInflight) {
+    maxinflight = maxInflight;
+  }
+
+  /**
+   * Run the transaction phase open-loop, taking the operation start times from the given schedule
+   * instead of pacing this thread on its own.
+   */
+  public void setArrivals(final ArrivalScheduler arrivalScheduler) {
+    arrivals = arrivalScheduler;
+  }
+
+  /**
+   * Run the given schedule of phases as the transaction phase.
+   */
+  public void setPhases(final PhaseSchedule phaseSchedule) {
+    phases = phaseSchedule;
+  }
+
+  /**
+   * Draw the random values of this thread from the given stream, see {@link Utils#random()}.
+   */
+  public void setRandom(final SplittableRandom threadRandom) {
+    random = threadRandom;
+  }
+
+  /**
+   * The schedule of phases run by this thread, or null.
+   */
+  PhaseSchedule getPhases() {
+    return phases;
+  }
+
   public void setLoad(boolean preload, int opCount, CyclicBarrier barrier) {
     this.dopreload = preload;
     this.loadopcount = opCount;
@@ -101,12 +150,24 @@ public class ClientThread implements Runnable {
     }
   }
 
+  /**
+   * Change the target number of operations per ms of this thread while it runs. The throttle restarts
+   * from the next operation, and a target of 0 removes it.
+   */
+  public void retarget(double targetperthreadperms) {
+    retargetOpsPerMs = targetperthreadperms;
+    retarget = true;
+  }
+
   public int getOpsDone() {
     return opsdone;
   }
 
   @Override
   public void run() {
+    if (random != null) {
+      Utils.setRandom(random);
+    }
     try {
       measurements.setIntendedStartTimeNs(0);
       db.init();
@@ -131,20 +192,25 @@ public class ClientThread implements Runnable {
     // GH issue 4 - throws exception if _target>1 because random.nextInt argument must be >0
     // and the sleep() doesn't make sense for granularities < 1 ms anyway
     if ((targetOpsPerMs > 0) && (targetOpsPerMs <= 1.0)) {
-      long randomMinorDelay = ThreadLocalRandom.current().nextInt((int) targetOpsTickNs);
+      long randomMinorDelay = Utils.random().nextInt((int) targetOpsTickNs);
       sleepUntil(System.nanoTime() + randomMinorDelay);
     }
     try {
       if (!dotransactions || dopreload) {
         final Map<String, Long[]> gcsStart = Utils.getGCStatst();
         long startTimeNanos = System.nanoTime();
+        throttleStartNanos = startTimeNanos;
 
-        while (((loadopcount == 0) || (opsdone < loadopcount)) && !workload.isStopRequested()) {
-          if (!workload.doInsert(db, workloadstate)) {
-            break;
+        if (maxinflight > 1 && db instanceof AsyncDB) {
+          runAsync(false, loadopcount == 0, loadopcount);
+        } else {
+          while (((loadopcount == 0) || (opsdone < loadopcount)) && !workload.isStopRequested()) {
+            if (!workload.doInsert(db, workloadstate)) {
+              break;
+            }
+            opsdone++;
+            throttleNanos();
           }
-          opsdone++;
-          throttleNanos(startTimeNanos);
         }
 
         long endTimeNanos = System.nanoTime();
@@ -159,21 +225,33 @@ public class ClientThread implements Runnable {
           totalGCCount += end.getValue()[0] - start[0];
           totalGCTime += end.getValue()[1] - start[1];
         }
+        loadBarrier.await();
         measurements.measure("LOAD_GCs_Count", totalGCCount);
         measurements.measure("LOAD_GCs_Time(ms)", totalGCTime);
         measurements.measure("LOAD", endTimeNanos - startTimeNanos);
-        loadBarrier.await();
       }
       if (dotransactions) {
+        if (phases != null && phases.hasWarmup()) {
+          runWarmup();
+        }
         final Map<String, Long[]> gcsStart = Utils.getGCStatst();
         long startTimeNanos = System.nanoTime();
+        throttleStartNanos = startTimeNanos;
 
-        while (((opcount == 0) || (opsdone < targetopcount)) && !workload.isStopRequested()) {
-          if (!workload.doTransaction(db, workloadstate)) {
-            break;
+        if (phases != null) {
+          runPhases();
+        } else if (arrivals != null) {
+          runOpenLoop();
+        } else if (maxinflight > 1 && db instanceof AsyncDB) {
+          runAsync(true, opcount == 0, targetopcount);
+        } else {
+          while (((opcount == 0) || (opsdone < targetopcount)) && !workload.isStopRequested()) {
+            if (!workload.doTransaction(db, workloadstate)) {
+              break;
+            }
+            opsdone++;
+            throttleNanos();
           }
-          opsdone++;
-          throttleNanos(startTimeNanos);
         }
 
         long endTimeNanos = System.nanoTime();
@@ -209,6 +287,119 @@ public class ClientThread implements Runnable {
     }
   }
 
+  /**
+   * Issue operations while keeping up to maxinflight of them outstanding, then wait for all of them to
+   * complete. Operations are counted as they are issued so that the throttle paces the issuing; the ones
+   * the workload reports as not done are discounted once they completed.
+   *
+   * @return false if the workload reported it is done.
+   */
+  private boolean runAsync(boolean transactions, boolean unbounded, int limit) {
+    final AsyncDB asyncdb = (AsyncDB) db;
+    final Semaphore inflight = new Semaphore(maxinflight);
+    final AtomicInteger notdone = new AtomicInteger();
+    final AtomicBoolean finished = new AtomicBoolean(false);
+
+    while ((unbounded || (opsdone < limit)) && !pastDeadline() && !workload.isStopRequested()
+        && !finished.get()) {
+      inflight.acquireUninterruptibly();
+      CompletionStage<Boolean> stage;
+      try {
+        stage = transactions ? workload.doTransactionAsync(asyncdb, workloadstate)
+            : workload.doInsertAsync(asyncdb, workloadstate);
+      } catch (RuntimeException e) {
+        inflight.release();
+        throw e;
+      }
+      opsdone++;
+      stage.whenComplete((done, ex) -> {
+        if (ex != null) {
+          ex.printStackTrace();
+        }
+        if (!Boolean.TRUE.equals(done)) {
+          notdone.incrementAndGet();
+          finished.set(true);
+        }
+        inflight.release();
+      });
+      throttleNanos();
+    }
+
+    inflight.acquireUninterruptibly(maxinflight);
+    opsdone -= notdone.get();
+    return !finished.get();
+  }
+
+  /**
+   * Run the phases of the schedule one after the other, waiting for the other client threads between
+   * them. A thread whose workload is done still waits for the others at each phase.
+   */
+  private void runPhases() throws Exception {
+    PhaseSchedule.Phase phase;
+    while ((phase = phases.await()) != null) {
+      if (!workloaddone) {
+        workloaddone = !runPhase(phase);
+      }
+    }
+    phaseDeadlineNs = 0;
+  }
+
+  /**
+   * Run the warm-up phase of the schedule. Its operations are not counted, and its measurements are
+   * discarded when the next phase starts.
+   */
+  private void runWarmup() throws Exception {
+    workloaddone = !runPhase(phases.await());
+    opsdone = 0;
+  }
+
+  /**
+   * @return false if the workload reported it is done.
+   */
+  private boolean runPhase(PhaseSchedule.Phase phase) throws Exception {
+    workloadstate = workload.initThread(phase.getProperties(), threadid, threadcount);
+    retarget(phase.getTargetPerThreadPerMs(threadcount));
+    phaseDeadlineNs = phases.getDeadlineNs();
+    boolean unbounded = !phase.hasOperationCount();
+    int limit = opsdone + phase.getOperationCount(threadid, threadcount);
+    if (maxinflight > 1 && db instanceof AsyncDB) {
+      return runAsync(true, unbounded, limit);
+    }
+    while ((unbounded || (opsdone < limit)) && !pastDeadline() && !workload.isStopRequested()) {
+      if (!workload.doTransaction(db, workloadstate)) {
+        return false;
+      }
+      opsdone++;
+      throttleNanos();
+    }
+    return true;
+  }
+
+  private boolean pastDeadline() {
+    return phaseDeadlineNs != 0 && System.nanoTime() >= phaseDeadlineNs;
+  }
+
+  /**
+   * Run transactions at the times given by the arrival schedule. The delay between an arrival and the
+   * moment this thread could start the operation is reported as "QUEUE", and the arrival time is the
+   * intended start time of the operation.
+   */
+  private void runOpenLoop() {
+    while (!workload.isStopRequested()) {
+      long arrival = arrivals.nextArrivalNs();
+      if (arrival < 0) {
+        break;
+      }
+      sleepUntil(arrival);
+      measurements.measure("QUEUE", System.nanoTime() - arrival);
+      measurements.setIntendedStartTimeNs(arrival);
+      if (!workload.doTransaction(db, workloadstate)) {
+        break;
+      }
+      opsdone++;
+    }
+  }
+
   private static void sleepUntil(long deadline) {
     while (System.nanoTime() < deadline) {
       if (!spinSleep) {
@@ -217,16 +408,32 @@ public class ClientThread implements Runnable {
     }
   }
 
-  private void throttleNanos(long startTimeNanos) {
+  private void throttleNanos() {
+    if (retarget) {
+      retarget = false;
+      targetOpsPerMs = retargetOpsPerMs;
+      if (targetOpsPerMs > 0) {
+        targetOpsTickNs = (long) (1000000 / targetOpsPerMs);
+        // the next operation is due now
+        throttleStartNanos = System.nanoTime() - opsdone * targetOpsTickNs;
+      }
+    }
     //throttle the operations
     if (targetOpsPerMs > 0) {
       // delay until next tick
-      long deadline = startTimeNanos + opsdone * targetOpsTickNs;
+      long deadline = throttleStartNanos + opsdone * targetOpsTickNs;
       sleepUntil(deadline);
       measurements.setIntendedStartTimeNs(deadline);
     }
   }
 
+  /**
+   * Whether the DB used by this thread can be driven from a virtual thread.
+   */
+  boolean supportsVirtualThreads() {
+    return db.supportsVirtualThreads();
+  }
+
   /**
    * The total amount of work this thread is still expected to do.
    */
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import lib.util.persistent.PersistentString;
+import eu.telecomsudparis.jnvm.offheap.OffHeapString;
+import site.ycsb.generator.NumberGenerator;
+
+/**
+ * A ByteIterator that generates a sequence of random printable bytes which compresses to about the given
+ * ratio of its length.
+ *
+ * The first bytes of the sequence, the given ratio of it, are random, and the rest repeats them, as the
+ * compressible values of RocksDB's db_bench. Compressors of the LZ family then keep little more than the
+ * random part. The random bytes are uniform over the printable characters, or follow a distribution of
+ * symbols, e.g. a {@link site.ycsb.generator.HistogramGenerator} over them, to lower their entropy too.
+ */
+public class CompressibleByteIterator implements ByteIterator {
+  /**
+   * The number of printable characters, from ' ' on, which the symbols map to.
+   */
+  public static final int SYMBOLS = 95;
+
+  private final long len;
+  private final byte[] random;
+  private long off;
+
+  /**
+   * Creates a new sequence.
+   *
+   * @param len             The length of the sequence.
+   * @param compressibility The ratio of the sequence which is random, in (0, 1].
+   * @param symbols         The distribution of the random characters, as 1 for ' ', 2 for '!', and so on,
+   *                        or null for printable characters drawn uniformly.
+   */
+  public CompressibleByteIterator(long len, double compressibility, NumberGenerator symbols) {
+    this.len = len;
+    this.random = new byte[(int) Math.max(1, Math.min(len, Math.round(len * compressibility)))];
+    if (symbols == null) {
+      new RandomByteIterator(random.length).nextBuf(random, 0);
+    } else {
+      for (int i = 0; i < random.length; i++) {
+        random[i] = (byte) (' ' + Math.floorMod(symbols.nextValue().longValue() - 1, SYMBOLS));
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return off < len;
+  }
+
+  @Override
+  public byte nextByte() {
+    return random[(int) (off++ % random.length)];
+  }
+
+  @Override
+  public int nextBuf(byte[] buffer, int bufOffset) {
+    int end = (int) Math.min(buffer.length, bufOffset + len - off);
+    int pos = bufOffset;
+    while (pos < end) {
+      int start = (int) (off % random.length);
+      int n = Math.min(end - pos, random.length - start);
+      System.arraycopy(random, start, buffer, pos, n);
+      pos += n;
+      off += n;
+    }
+    return pos;
+  }
+
+  @Override
+  public long bytesLeft() {
+    return len - off;
+  }
+
+  @Override
+  public void reset() {
+    off = 0;
+  }
+
+  /** Consumes remaining contents of this object, and returns them as a byte array. */
+  @Override
+  public byte[] toArray() {
+    long left = bytesLeft();
+    if (left != (int) left) {
+      throw new ArrayIndexOutOfBoundsException("Too much data to fit in one array!");
+    }
+    byte[] ret = new byte[(int) left];
+    nextBuf(ret, 0);
+    return ret;
+  }
+
+  @Override
+  public OffHeapString toOffHeapString() {
+    return new OffHeapString(this.toString());
+  }
+
+  @Override
+  public OffHeapStringByteIterator toOffHeapStringByteIterator() {
+    return new OffHeapStringByteIterator(this.toString());
+  }
+
+  @Override
+  public PersistentString toPersistentString() {
+    return PersistentString.make(this.toString());
+  }
+
+  @Override
+  public PersistentStringByteIterator toPersistentStringByteIterator() {
+    return new PersistentStringByteIterator(this.toPersistentString());
+  }
+
+  @Override
+  public String toString() {
+    return ByteIterator.super.toString1();
+  }
+
+  @Override
+  public StringByteIterator toStringByteIterator() {
+    return new StringByteIterator(this.toString());
+  }
+}
@@ -18,6 +18,7 @@
 package site.ycsb;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -79,6 +80,15 @@ public abstract class DB {
   public void cleanup() throws DBException {
   }
 
+  /**
+   * Whether this DB can be driven from virtual threads (see the "virtual" client executor). Bindings
+   * blocking inside synchronized blocks or native calls pin the carrier thread running them, which
+   * serializes the virtual client threads; they should return false so that platform threads are used.
+   */
+  public boolean supportsVirtualThreads() {
+    return true;
+  }
+
   /**
    * Read a record from the database. Each field/value pair from the result will be stored in a HashMap.
    *
@@ -135,4 +145,70 @@ public abstract class DB {
    * @return The result of the operation.
    */
   public abstract Status delete(ByteIterator table, ByteIterator key);
+
+  /**
+   * Read a batch of records from the database. The default implementation reads them one at a time; bindings
+   * able to fetch several records in one request should override it.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param results A list to which the field/value pairs of each record are appended, in the order of the keys
+   *                (null for a record which could not be read)
+   * @return The result of the operation: OK if all the records were read, else the first failure.
+   */
+  public Status multiRead(ByteIterator table, List<ByteIterator> keys, Set<ByteIterator> fields,
+                          List<Map<ByteIterator, ByteIterator>> results) {
+    Status status = Status.OK;
+    for (ByteIterator key : keys) {
+      Holder<Map<ByteIterator, ByteIterator>> result = new Holder<>();
+      result.value = new HashMap<ByteIterator, ByteIterator>();
+      Status res = read(table, key, fields, result);
+      results.add(res.isOk() ? result.value : null);
+      if (!res.isOk() && status.isOk()) {
+        status = res;
+      }
+    }
+    return status;
+  }
+
+  /**
+   * Update a batch of records in the database, see {@link #update}. The default implementation updates them
+   * one at a time; bindings able to write several records in one request should override it.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to write to.
+   * @param values The field/value pairs to update in each record, in the order of the keys
+   * @return The result of the operation: OK if all the records were updated, else the first failure.
+   */
+  public Status multiUpdate(ByteIterator table, List<ByteIterator> keys, List<Map<ByteIterator, ByteIterator>> values) {
+    Status status = Status.OK;
+    for (int i = 0; i < keys.size(); i++) {
+      Status res = update(table, keys.get(i), values.get(i));
+      if (!res.isOk() && status.isOk()) {
+        status = res;
+      }
+    }
+    return status;
+  }
+
+  /**
+   * Insert a batch of records in the database, see {@link #insert}. The default implementation inserts them
+   * one at a time; bindings able to write several records in one request should override it.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to insert.
+   * @param values The field/value pairs to insert in each record, in the order of the keys
+   * @return The result of the operation: OK if all the records were inserted, else the first failure.
+   */
+  public Status multiInsert(ByteIterator table, List<ByteIterator> keys, List<Map<ByteIterator, ByteIterator>> values) {
+    Status status = Status.OK;
+    for (int i = 0; i < keys.size(); i++) {
+      Status res = insert(table, keys.get(i), values.get(i));
+      if (!res.isOk() && status.isOk()) {
+        status = res;
+      }
+    }
+    return status;
+  }
 }
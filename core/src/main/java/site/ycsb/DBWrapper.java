@@ -23,14 +23,25 @@ import org.apache.htrace.core.TraceScope;
 import org.apache.htrace.core.Tracer;
 
 import javax.xml.ws.Holder;
+import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Wrapper around a "real" DB that measures latencies and counts return codes.
  * Also reports latency separately between OK and failed operations.
+ *
+ * The asynchronous operations are forwarded to the wrapped DB when it is an {@link AsyncDB}, and are
+ * measured when they complete. Otherwise they run synchronously and return an already completed stage.
+ *
+ * With measurement.allocation set, the bytes allocated and the CPU time spent by the client thread during
+ * each operation are measured as well, under "op-ALLOC" and "op-CPU". For an asynchronous operation, this
+ * is what issuing it costs the client thread.
  */
-public class DBWrapper extends DB {
+public class DBWrapper extends AsyncDB {
   private final DB db;
+  private final AsyncDB asyncdb;
   private final Measurements measurements;
   private final Tracer tracer;
 
@@ -42,6 +53,12 @@ public class DBWrapper extends DB {
 
   private static final String LATENCY_TRACKED_ERRORS_PROPERTY = "latencytrackederrors";
 
+  static final String MEASUREMENT_ALLOCATION_PROPERTY = "measurement.allocation";
+  static final String MEASUREMENT_ALLOCATION_PROPERTY_DEFAULT = "false";
+
+  // the allocations and CPU time of the client threads, or null unless measurement.allocation is set
+  private com.sun.management.ThreadMXBean threads;
+
   private final String scopeStringCleanup;
   private final String scopeStringDelete;
   private final String scopeStringInit;
@@ -52,6 +69,7 @@ public class DBWrapper extends DB {
 
   public DBWrapper(final DB db, final Tracer tracer) {
     this.db = db;
+    this.asyncdb = db instanceof AsyncDB ? (AsyncDB) db : null;
     measurements = Measurements.getMeasurements();
     this.tracer = tracer;
     final String simple = db.getClass().getSimpleName();
@@ -105,6 +123,20 @@ public class DBWrapper extends DB {
       System.err.println("DBWrapper: report latency for each error is " +
           this.reportLatencyForEachError + " and specific error codes to track" +
           " for latency are: " + this.latencyTrackedErrors.toString());
+
+      if (Boolean.parseBoolean(getProperties().getProperty(MEASUREMENT_ALLOCATION_PROPERTY,
+          MEASUREMENT_ALLOCATION_PROPERTY_DEFAULT))) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+            && bean.isCurrentThreadCpuTimeSupported()) {
+          threads = (com.sun.management.ThreadMXBean) bean;
+          threads.setThreadAllocatedMemoryEnabled(true);
+          threads.setThreadCpuTimeEnabled(true);
+        } else {
+          System.err.println("DBWrapper: " + MEASUREMENT_ALLOCATION_PROPERTY + " is not supported by this JVM");
+        }
+      }
     }
   }
 
@@ -122,6 +154,11 @@ public class DBWrapper extends DB {
     }
   }
 
+  @Override
+  public boolean supportsVirtualThreads() {
+    return db.supportsVirtualThreads();
+  }
+
   /**
    * Read a record from the database. Each field/value pair from the result
    * will be stored in a HashMap.
@@ -135,10 +172,13 @@ public class DBWrapper extends DB {
   public Status read(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
                      Holder<Map<ByteIterator, ByteIterator>> result) {
     try (final TraceScope span = tracer.newScope(scopeStringRead)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
       long ist = measurements.getIntendedtartTimeNs();
       long st = System.nanoTime();
       Status res = db.read(table, key, fields, result);
       long en = System.nanoTime();
+      measureResources("READ", sa, sc);
       measure("READ", res, ist, st, en);
       measurements.reportStatus("READ", res);
       return res;
@@ -159,10 +199,13 @@ public class DBWrapper extends DB {
   public Status scan(ByteIterator table, ByteIterator startkey, int recordcount,
                      Set<ByteIterator> fields, Vector<HashMap<ByteIterator, ByteIterator>> result) {
     try (final TraceScope span = tracer.newScope(scopeStringScan)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
       long ist = measurements.getIntendedtartTimeNs();
       long st = System.nanoTime();
       Status res = db.scan(table, startkey, recordcount, fields, result);
       long en = System.nanoTime();
+      measureResources("SCAN", sa, sc);
       measure("SCAN", res, ist, st, en);
       measurements.reportStatus("SCAN", res);
       return res;
@@ -184,6 +227,39 @@ public class DBWrapper extends DB {
     measurements.measureIntended(measurementName, endTimeNanos - intendedStartTimeNanos);
   }
 
+  /**
+   * The bytes allocated by the current thread so far, or 0 unless measurement.allocation is set, or -1 if the
+   * JVM does not report them for this thread (e.g. a virtual thread).
+   */
+  private long allocatedBytes() {
+    return threads == null ? 0 : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * The CPU time of the current thread so far, in nanoseconds, or 0 unless measurement.allocation is set, or -1
+   * if the JVM does not report it for this thread (e.g. a virtual thread).
+   */
+  private long cpuTime() {
+    return threads == null ? 0 : threads.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * Measure the bytes allocated and the CPU time spent by the current thread since the given samples. Samples
+   * the JVM did not report are skipped rather than measured as 0.
+   */
+  private void measureResources(String op, long startAllocatedBytes, long startCpuTime) {
+    if (threads != null) {
+      long allocated = allocatedBytes();
+      if (startAllocatedBytes >= 0 && allocated >= 0) {
+        measurements.measure(op + "-ALLOC", allocated - startAllocatedBytes);
+      }
+      long cpu = cpuTime();
+      if (startCpuTime >= 0 && cpu >= 0) {
+        measurements.measure(op + "-CPU", cpu - startCpuTime);
+      }
+    }
+  }
+
   /**
    * Update a record in the database. Any field/value pairs in the specified values HashMap will be written into the
    * record with the specified record key, overwriting any existing values with the same field name.
@@ -196,10 +272,13 @@ public class DBWrapper extends DB {
   public Status update(ByteIterator table, ByteIterator key,
                        Map<ByteIterator, ByteIterator> values) {
     try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
       long ist = measurements.getIntendedtartTimeNs();
       long st = System.nanoTime();
       Status res = db.update(table, key, values);
       long en = System.nanoTime();
+      measureResources("UPDATE", sa, sc);
       measure("UPDATE", res, ist, st, en);
       measurements.reportStatus("UPDATE", res);
       return res;
@@ -219,10 +298,13 @@ public class DBWrapper extends DB {
   public Status insert(ByteIterator table, ByteIterator key,
                        Map<ByteIterator, ByteIterator> values) {
     try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
       long ist = measurements.getIntendedtartTimeNs();
       long st = System.nanoTime();
       Status res = db.insert(table, key, values);
       long en = System.nanoTime();
+      measureResources("INSERT", sa, sc);
       measure("INSERT", res, ist, st, en);
       measurements.reportStatus("INSERT", res);
       return res;
@@ -238,13 +320,204 @@ public class DBWrapper extends DB {
    */
   public Status delete(ByteIterator table, ByteIterator key) {
     try (final TraceScope span = tracer.newScope(scopeStringDelete)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
       long ist = measurements.getIntendedtartTimeNs();
       long st = System.nanoTime();
       Status res = db.delete(table, key);
       long en = System.nanoTime();
+      measureResources("DELETE", sa, sc);
       measure("DELETE", res, ist, st, en);
       measurements.reportStatus("DELETE", res);
       return res;
     }
   }
+
+  /**
+   * Read a batch of records from the database.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param results A list to which the field/value pairs of each record are appended
+   * @return The result of the operation.
+   */
+  @Override
+  public Status multiRead(ByteIterator table, List<ByteIterator> keys, Set<ByteIterator> fields,
+                          List<Map<ByteIterator, ByteIterator>> results) {
+    try (final TraceScope span = tracer.newScope(scopeStringRead)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.multiRead(table, keys, fields, results);
+      long en = System.nanoTime();
+      measureResources("BATCH-READ", sa, sc);
+      measureBatch("READ", keys.size(), res, ist, st, en);
+      return res;
+    }
+  }
+
+  /**
+   * Update a batch of records in the database.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to write to.
+   * @param values The field/value pairs to update in each record
+   * @return The result of the operation.
+   */
+  @Override
+  public Status multiUpdate(ByteIterator table, List<ByteIterator> keys,
+                            List<Map<ByteIterator, ByteIterator>> values) {
+    try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.multiUpdate(table, keys, values);
+      long en = System.nanoTime();
+      measureResources("BATCH-UPDATE", sa, sc);
+      measureBatch("UPDATE", keys.size(), res, ist, st, en);
+      return res;
+    }
+  }
+
+  /**
+   * Insert a batch of records in the database.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to insert.
+   * @param values The field/value pairs to insert in each record
+   * @return The result of the operation.
+   */
+  @Override
+  public Status multiInsert(ByteIterator table, List<ByteIterator> keys,
+                            List<Map<ByteIterator, ByteIterator>> values) {
+    try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.multiInsert(table, keys, values);
+      long en = System.nanoTime();
+      measureResources("BATCH-INSERT", sa, sc);
+      measureBatch("INSERT", keys.size(), res, ist, st, en);
+      return res;
+    }
+  }
+
+  /**
+   * Measure a batch as a whole under "BATCH-op", and each of its operations under "op" with the latency of
+   * the batch amortized over them.
+   */
+  private void measureBatch(String op, int size, Status result, long intendedStartTimeNanos,
+                            long startTimeNanos, long endTimeNanos) {
+    if (size == 0) {
+      return;
+    }
+    measure("BATCH-" + op, result, intendedStartTimeNanos, startTimeNanos, endTimeNanos);
+    measurements.reportStatus("BATCH-" + op, result);
+    long amortizedStartNanos = endTimeNanos - (endTimeNanos - startTimeNanos) / size;
+    long amortizedIntendedStartNanos = endTimeNanos - (endTimeNanos - intendedStartTimeNanos) / size;
+    for (int i = 0; i < size; i++) {
+      measure(op, result, amortizedIntendedStartNanos, amortizedStartNanos, endTimeNanos);
+      measurements.reportStatus(op, result);
+    }
+  }
+
+  public CompletionStage<Status> readAsync(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                                           Holder<Map<ByteIterator, ByteIterator>> result) {
+    if (asyncdb == null) {
+      return CompletableFuture.completedFuture(read(table, key, fields, result));
+    }
+    try (final TraceScope span = tracer.newScope(scopeStringRead)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      CompletionStage<Status> stage = asyncdb.readAsync(table, key, fields, result);
+      measureResources("READ", sa, sc);
+      return measureAsync("READ", stage, ist, st);
+    }
+  }
+
+  public CompletionStage<Status> scanAsync(ByteIterator table, ByteIterator startkey, int recordcount,
+                                           Set<ByteIterator> fields,
+                                           Vector<HashMap<ByteIterator, ByteIterator>> result) {
+    if (asyncdb == null) {
+      return CompletableFuture.completedFuture(scan(table, startkey, recordcount, fields, result));
+    }
+    try (final TraceScope span = tracer.newScope(scopeStringScan)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      CompletionStage<Status> stage = asyncdb.scanAsync(table, startkey, recordcount, fields, result);
+      measureResources("SCAN", sa, sc);
+      return measureAsync("SCAN", stage, ist, st);
+    }
+  }
+
+  public CompletionStage<Status> updateAsync(ByteIterator table, ByteIterator key,
+                                             Map<ByteIterator, ByteIterator> values) {
+    if (asyncdb == null) {
+      return CompletableFuture.completedFuture(update(table, key, values));
+    }
+    try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      CompletionStage<Status> stage = asyncdb.updateAsync(table, key, values);
+      measureResources("UPDATE", sa, sc);
+      return measureAsync("UPDATE", stage, ist, st);
+    }
+  }
+
+  public CompletionStage<Status> insertAsync(ByteIterator table, ByteIterator key,
+                                             Map<ByteIterator, ByteIterator> values) {
+    if (asyncdb == null) {
+      return CompletableFuture.completedFuture(insert(table, key, values));
+    }
+    try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      CompletionStage<Status> stage = asyncdb.insertAsync(table, key, values);
+      measureResources("INSERT", sa, sc);
+      return measureAsync("INSERT", stage, ist, st);
+    }
+  }
+
+  public CompletionStage<Status> deleteAsync(ByteIterator table, ByteIterator key) {
+    if (asyncdb == null) {
+      return CompletableFuture.completedFuture(delete(table, key));
+    }
+    try (final TraceScope span = tracer.newScope(scopeStringDelete)) {
+      long sa = allocatedBytes();
+      long sc = cpuTime();
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      CompletionStage<Status> stage = asyncdb.deleteAsync(table, key);
+      measureResources("DELETE", sa, sc);
+      return measureAsync("DELETE", stage, ist, st);
+    }
+  }
+
+  /**
+   * Record the latency of an asynchronous operation once it completes. The start times are taken
+   * when the operation is issued, on the client thread. An operation completing exceptionally is
+   * reported as {@link Status#ERROR}.
+   */
+  private CompletionStage<Status> measureAsync(String op, CompletionStage<Status> stage,
+                                               long intendedStartTimeNanos, long startTimeNanos) {
+    return stage.handle((res, ex) -> {
+      long en = System.nanoTime();
+      Status status = ex == null ? res : Status.ERROR;
+      measure(op, status, intendedStartTimeNanos, startTimeNanos, en);
+      measurements.reportStatus(op, status);
+      return status;
+    });
+  }
 }
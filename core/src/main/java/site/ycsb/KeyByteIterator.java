@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A mutable key such as "user000123", owned by one client thread and set in place for each operation,
+ * so that building a key allocates nothing.
+ *
+ * It hashes and compares equal as the {@link StringByteIterator} of the same key, and both ways with the
+ * {@link OffHeapStringByteIterator} keys of offheap stores. The key changes with
+ * the next operation of its thread, so bindings retaining it past an operation must keep
+ * {@link #toStringByteIterator()} instead. It is serialized as a StringByteIterator.
+ */
+public final class KeyByteIterator implements ByteIterator, Serializable, Comparable<ByteIterator> {
+  private static final long serialVersionUID = 1L;
+
+  private final int prefixLength;
+  private final int zeropadding;
+  private final byte[] buf;
+  private int len;
+  private int off;
+  private int hash;
+
+  /**
+   * Creates an empty key.
+   *
+   * @param prefix      The prefix of the key, in ASCII.
+   * @param zeropadding The minimum number of digits of the key number.
+   */
+  public KeyByteIterator(String prefix, int zeropadding) {
+    this.prefixLength = prefix.length();
+    this.zeropadding = zeropadding;
+    // a long has at most 19 digits, and a sign
+    this.buf = Arrays.copyOf(prefix.getBytes(StandardCharsets.US_ASCII), prefixLength + Math.max(zeropadding, 20));
+    this.len = prefixLength;
+  }
+
+  /**
+   * Set the key to the prefix followed by the decimal key number, padded with zeros.
+   *
+   * @return this key.
+   */
+  public KeyByteIterator set(long keynum) {
+    int digits = 1;
+    for (long rest = keynum / 10; rest != 0; rest /= 10) {
+      digits++;
+    }
+    int pos = prefixLength;
+    // the sign of a negative number counts in the padding, as in the keys built from Long.toString
+    for (int fill = zeropadding - digits - (keynum < 0 ? 1 : 0); fill > 0; fill--) {
+      buf[pos++] = '0';
+    }
+    if (keynum < 0) {
+      buf[pos++] = '-';
+    }
+    len = pos + digits;
+    long rest = keynum;
+    for (int i = len - 1; i >= pos; i--) {
+      buf[i] = (byte) ('0' + Math.abs(rest % 10));
+      rest /= 10;
+    }
+    off = 0;
+    hash = 0;
+    return this;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return off < len;
+  }
+
+  @Override
+  public byte nextByte() {
+    return buf[off++];
+  }
+
+  @Override
+  public int nextBuf(byte[] buffer, int bufOff) {
+    int n = Math.min(buffer.length - bufOff, len - off);
+    System.arraycopy(buf, off, buffer, bufOff, n);
+    off += n;
+    return bufOff + n;
+  }
+
+  @Override
+  public long bytesLeft() {
+    return len - off;
+  }
+
+  @Override
+  public void reset() {
+    off = 0;
+  }
+
+  @Override
+  public byte[] toArray() {
+    byte[] ret = Arrays.copyOfRange(buf, off, len);
+    off = len;
+    return ret;
+  }
+
+  /**
+   * A view of the rest of the key, valid until the key is set again.
+   */
+  @Override
+  public ByteBuffer asByteBuffer() {
+    ByteBuffer ret = ByteBuffer.wrap(buf, off, len - off).slice();
+    off = len;
+    return ret;
+  }
+
+  /**
+   * The whole key, whatever was consumed of it.
+   */
+  @Override
+  public String toString() {
+    return new String(buf, 0, len, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * A copy of the key, which stays valid once this key is set again.
+   */
+  @Override
+  public StringByteIterator toStringByteIterator() {
+    return new StringByteIterator(toString());
+  }
+
+  /**
+   * The hash code of the String of the key, as for {@link StringByteIterator}.
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      for (int i = 0; i < len; i++) {
+        h = 31 * h + buf[i];
+      }
+      hash = h;
+    }
+    return h;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    } else if (o instanceof KeyByteIterator) {
+      KeyByteIterator a = (KeyByteIterator) o;
+      if (len != a.len) {
+        return false;
+      }
+      for (int i = 0; i < len; i++) {
+        if (buf[i] != a.buf[i]) {
+          return false;
+        }
+      }
+      return true;
+    } else if (o instanceof StringByteIterator) {
+      return contentEquals(o.toString());
+    } else if (o instanceof OffHeapStringByteIterator) {
+      // as the off-heap key compares, whatever was consumed of it
+      return o.equals(this);
+    }
+    return false;
+  }
+
+  @Override
+  public int compareTo(ByteIterator o) {
+    if (o instanceof OffHeapStringByteIterator) {
+      return -((OffHeapStringByteIterator) o).compareTo(this);
+    }
+    String other = o instanceof StringByteIterator || o instanceof KeyByteIterator ? o.toString() : null;
+    if (other == null) {
+      throw new UnsupportedOperationException("Not implemented");
+    }
+    int n = Math.min(len, other.length());
+    for (int i = 0; i < n; i++) {
+      int c = (char) buf[i] - other.charAt(i);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return len - other.length();
+  }
+
+  private boolean contentEquals(String s) {
+    if (s.length() != len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (s.charAt(i) != (char) buf[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Object writeReplace() {
+    return toStringByteIterator();
+  }
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A thread searching for the highest throughput the database sustains within a latency objective.
+ *
+ * The target throughput of the client threads is raised step by step, and the latency of each step is
+ * read from the live measurements. The search stops at the first step exceeding the latency objective,
+ * or falling short of its target throughput, and then requests the workload to stop. The knee is the
+ * last step which met both.
+ */
+public class KneeSearchThread extends Thread {
+  /**
+   * Whether to search for the knee throughput instead of running at a fixed target.
+   */
+  public static final String KNEE_SEARCH_PROPERTY = "kneesearch";
+
+  /**
+   * The target throughput of the first step, in operations per second.
+   */
+  public static final String START_PROPERTY = "kneesearch.start";
+  public static final String START_PROPERTY_DEFAULT = "1000";
+
+  /**
+   * The throughput added at each step, in operations per second. Defaults to the start throughput.
+   */
+  public static final String STEP_PROPERTY = "kneesearch.step";
+
+  /**
+   * The duration of each step, in seconds.
+   */
+  public static final String STEP_DURATION_PROPERTY = "kneesearch.stepduration";
+  public static final String STEP_DURATION_PROPERTY_DEFAULT = "30";
+
+  /**
+   * The maximum number of steps.
+   */
+  public static final String MAX_STEPS_PROPERTY = "kneesearch.maxsteps";
+  public static final String MAX_STEPS_PROPERTY_DEFAULT = "20";
+
+  /**
+   * The latency percentile checked against the objective.
+   */
+  public static final String PERCENTILE_PROPERTY = "kneesearch.percentile";
+  public static final String PERCENTILE_PROPERTY_DEFAULT = "99";
+
+  /**
+   * The latency objective, in microseconds.
+   */
+  public static final String SLO_PROPERTY = "kneesearch.slo";
+  public static final String SLO_PROPERTY_DEFAULT = "1000";
+
+  /**
+   * The fraction of the target throughput a step may miss before the database is considered saturated.
+   */
+  public static final String TOLERANCE_PROPERTY = "kneesearch.tolerance";
+  public static final String TOLERANCE_PROPERTY_DEFAULT = "0.1";
+
+  /**
+   * The operations whose latency is checked against the objective.
+   */
+  public static final String OPERATIONS_PROPERTY = "kneesearch.operations";
+  public static final String OPERATIONS_PROPERTY_DEFAULT = "READ,UPDATE,INSERT,SCAN,READ-MODIFY-WRITE";
+
+  /**
+   * The outcome of one step of the search.
+   */
+  private static final class Step {
+    private final double target;
+    private final double throughput;
+    private final long latencyNs;
+
+    private Step(double target, double throughput, long latencyNs) {
+      this.target = target;
+      this.throughput = throughput;
+      this.latencyNs = latencyNs;
+    }
+  }
+
+  private final CountDownLatch completeLatch;
+  private final List<ClientThread> clients;
+  private final Workload workload;
+  private final Measurements measurements;
+
+  private final double start;
+  private final double step;
+  private final long stepDurationNs;
+  private final int maxSteps;
+  private final double percentile;
+  private final long sloNs;
+  private final double tolerance;
+  private final String[] operations;
+
+  private final List<Step> steps = new ArrayList<>();
+  private volatile Step knee;
+
+  /**
+   * Creates a new KneeSearchThread.
+   *
+   * @param completeLatch The latch that each client thread will {@link CountDownLatch#countDown()}
+   *                      as they complete.
+   * @param clients       The clients to drive.
+   * @param workload      The workload to stop once the search is over.
+   * @param props         The properties configuring the search.
+   */
+  public KneeSearchThread(CountDownLatch completeLatch, List<ClientThread> clients, Workload workload,
+                          Properties props) {
+    this.completeLatch = completeLatch;
+    this.clients = clients;
+    this.workload = workload;
+    measurements = Measurements.getMeasurements();
+    start = Double.parseDouble(props.getProperty(START_PROPERTY, START_PROPERTY_DEFAULT));
+    step = Double.parseDouble(props.getProperty(STEP_PROPERTY, String.valueOf(start)));
+    stepDurationNs = TimeUnit.SECONDS.toNanos(
+        Long.parseLong(props.getProperty(STEP_DURATION_PROPERTY, STEP_DURATION_PROPERTY_DEFAULT)));
+    maxSteps = Integer.parseInt(props.getProperty(MAX_STEPS_PROPERTY, MAX_STEPS_PROPERTY_DEFAULT));
+    percentile = Double.parseDouble(props.getProperty(PERCENTILE_PROPERTY, PERCENTILE_PROPERTY_DEFAULT));
+    sloNs = TimeUnit.MICROSECONDS.toNanos(Long.parseLong(props.getProperty(SLO_PROPERTY, SLO_PROPERTY_DEFAULT)));
+    tolerance = Double.parseDouble(props.getProperty(TOLERANCE_PROPERTY, TOLERANCE_PROPERTY_DEFAULT));
+    operations = props.getProperty(OPERATIONS_PROPERTY, OPERATIONS_PROPERTY_DEFAULT).split(",");
+  }
+
+  @Override
+  public void run() {
+    // the first step starts with the first operation, not with the initialization of the DB
+    while (totalOpsDone() == 0 && completeLatch.getCount() > 0) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    double target = start;
+    for (int i = 0; i < maxSteps; i++) {
+      measurements.startWindow();
+      for (ClientThread client : clients) {
+        client.retarget(target / clients.size() / 1000.0);
+      }
+      long stepStartNs = System.nanoTime();
+      long stepStartOps = totalOpsDone();
+
+      boolean alldone;
+      try {
+        alldone = completeLatch.await(stepDurationNs, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        return;
+      }
+
+      long elapsedNs = System.nanoTime() - stepStartNs;
+      double throughput = (totalOpsDone() - stepStartOps) * 1e9 / elapsedNs;
+      long latencyNs = windowLatencyNs();
+      Step outcome = new Step(target, throughput, latencyNs);
+      synchronized (steps) {
+        steps.add(outcome);
+      }
+      System.err.println("Knee search step " + i + ": target " + target + " ops/sec, throughput "
+          + throughput + " ops/sec, " + formatPercentile() + "th percentile latency " + latencyNs + " ns");
+
+      if (alldone || latencyNs > sloNs || throughput < (1 - tolerance) * target) {
+        break;
+      }
+      knee = outcome;
+      target += step;
+    }
+
+    workload.requestStop();
+  }
+
+  /**
+   * The worst latency at the searched percentile among the checked operations, in the current window.
+   */
+  private long windowLatencyNs() {
+    long worst = 0;
+    for (String operation : operations) {
+      worst = Math.max(worst, measurements.getWindowPercentile(operation, percentile));
+    }
+    return worst;
+  }
+
+  private String formatPercentile() {
+    return percentile % 1 == 0 ? String.valueOf((long) percentile) : String.valueOf(percentile);
+  }
+
+  private long totalOpsDone() {
+    long ops = 0;
+    for (ClientThread client : clients) {
+      ops += client.getOpsDone();
+    }
+    return ops;
+  }
+
+  /**
+   * Export the knee and the throughput/latency curve of the search.
+   *
+   * @param exporter Exporter representing the type of format to write to.
+   * @throws IOException Thrown if the export failed.
+   */
+  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    String latencyName = formatPercentile() + "thPercentileLatency(ns)";
+    synchronized (steps) {
+      for (int i = 0; i < steps.size(); i++) {
+        Step outcome = steps.get(i);
+        exporter.write("KNEE-SEARCH-STEP-" + i, "Target(ops/sec)", outcome.target);
+        exporter.write("KNEE-SEARCH-STEP-" + i, "Throughput(ops/sec)", outcome.throughput);
+        exporter.write("KNEE-SEARCH-STEP-" + i, latencyName, outcome.latencyNs);
+      }
+    }
+    Step found = knee;
+    if (found != null) {
+      exporter.write("KNEE", "Target(ops/sec)", found.target);
+      exporter.write("KNEE", "Throughput(ops/sec)", found.throughput);
+      exporter.write("KNEE", latencyName, found.latencyNs);
+    } else {
+      exporter.write("KNEE", "Throughput(ops/sec)", 0);
+    }
+  }
+}
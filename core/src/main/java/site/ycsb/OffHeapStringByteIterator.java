@@ -31,6 +31,9 @@ public class OffHeapStringByteIterator implements ByteIterator, OffHeapObject, C
   private static final long CLASS_ID = OffHeap.Klass.registerUserKlass(OffHeapStringByteIterator.class);
   protected OffHeapString str;
   protected int off;
+  // the String of str while it is being consumed, so that it is read from the off-heap block in one pass
+  // instead of one char at a time. It is dropped once consumed, not to keep a copy of the value on the heap.
+  private String view;
 
   /**
    * Put all of the entries of one map into the other, converting
@@ -99,11 +102,22 @@ public class OffHeapStringByteIterator implements ByteIterator, OffHeapObject, C
 
   @Override
   public byte nextByte() {
-    byte ret = (byte) str.charAt(off);
-    off++;
+    byte ret = (byte) view().charAt(off);
+    consumed(1);
     return ret;
   }
 
+  @Override
+  public int nextBuf(byte[] buf, int bufOff) {
+    int n = (int) Math.min(buf.length - bufOff, bytesLeft());
+    String s = view();
+    for (int i = 0; i < n; i++) {
+      buf[bufOff + i] = (byte) s.charAt(off + i);
+    }
+    consumed(n);
+    return bufOff + n;
+  }
+
   @Override
   public long bytesLeft() {
     return str.length() - off;
@@ -117,13 +131,24 @@ public class OffHeapStringByteIterator implements ByteIterator, OffHeapObject, C
   @Override
   public byte[] toArray() {
     byte[] bytes = new byte[(int) bytesLeft()];
-    for (int i = 0; i < bytes.length; i++) {
-      bytes[i] = (byte) str.charAt(off + i);
-    }
-    off = (int) str.length();
+    nextBuf(bytes, 0);
     return bytes;
   }
 
+  private String view() {
+    if (view == null) {
+      view = str.toString();
+    }
+    return view;
+  }
+
+  private void consumed(int n) {
+    off += n;
+    if (off >= str.length()) {
+      view = null;
+    }
+  }
+
   /**
    * Specialization of general purpose toString() to avoid unnecessary
    * copies.
@@ -135,8 +160,12 @@ public class OffHeapStringByteIterator implements ByteIterator, OffHeapObject, C
    */
   @Override
   public String toString() {
-    if (off > 0) {
-      return ByteIterator.super.toString1();
+    if (off >= str.length()) {
+      return "";
+    } else if (off > 0) {
+      String rest = view().substring(off);
+      consumed(rest.length());
+      return rest;
     } else {
       return str.toString();
     }
@@ -176,9 +205,8 @@ public class OffHeapStringByteIterator implements ByteIterator, OffHeapObject, C
     } else if (o instanceof OffHeapStringByteIterator) {
       OffHeapStringByteIterator a = (OffHeapStringByteIterator) o;
       return this.str.equals(a.str);
-    } else if (o instanceof StringByteIterator) {
-      StringByteIterator a = (StringByteIterator) o;
-      return this.str.equals(a.toString());
+    } else if (o instanceof StringByteIterator || o instanceof KeyByteIterator) {
+      return this.str.equals(o.toString());
     }
     return false;
   }
@@ -188,6 +216,7 @@ public class OffHeapStringByteIterator implements ByteIterator, OffHeapObject, C
   }
   public void attach(long offset) {
     str.attach(offset);
+    view = null;
   }
   public void detach() {
     str.detach();
@@ -241,8 +270,8 @@ public class OffHeapStringByteIterator implements ByteIterator, OffHeapObject, C
   public int compareTo(ByteIterator o) {
     if (o instanceof OffHeapStringByteIterator) {
       return str.compareTo(((OffHeapStringByteIterator) o).str);
-    } else if (o instanceof StringByteIterator) {
-      return str.compareTo(((StringByteIterator) o).toString());
+    } else if (o instanceof StringByteIterator || o instanceof KeyByteIterator) {
+      return str.compareTo(o.toString());
     } else {
       //return ByteIterator.super.compareTo(o);
       throw new UnsupportedOperationException("Not implemented");
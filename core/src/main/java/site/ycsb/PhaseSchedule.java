@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.Measurements;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sequence of phases run one after the other in the transaction phase of a single client run.
+ *
+ * The phases are listed by name in the "phases" property. Each phase runs for
+ * "phase.&lt;name&gt;.operationcount" operations and/or "phase.&lt;name&gt;.duration" seconds, whichever
+ * comes first, at "phase.&lt;name&gt;.target" operations per second (default: the target of the run).
+ * Any other "phase.&lt;name&gt;.&lt;property&gt;" overrides a workload property for this phase only, e.g.
+ * "phase.burst.updateproportion=0.9".
+ *
+ * The client threads wait for each other between phases. The last one to arrive switches the workload
+ * and the measurements to the next phase, see {@link Workload#initPhase(Properties)} and
+ * {@link Measurements#startPhase(String)}.
+ *
+ * A warm-up of "warmup.operationcount" operations and/or "warmup.time" seconds may run first, with the
+ * transaction mix of the run. Its operations are not counted, and the measurements of the run are reset
+ * when it ends, see {@link Measurements#reset()}. Without "phases", the run itself follows the warm-up as a
+ * single untagged phase.
+ */
+public class PhaseSchedule {
+  /**
+   * The comma separated names of the phases to run.
+   */
+  public static final String PHASES_PROPERTY = "phases";
+
+  /**
+   * The prefix of the properties of each phase.
+   */
+  public static final String PHASE_PROPERTY_PREFIX = "phase.";
+
+  /**
+   * The number of operations of the warm-up.
+   */
+  public static final String WARMUP_OPERATION_COUNT_PROPERTY = "warmup.operationcount";
+
+  /**
+   * The duration of the warm-up, in seconds.
+   */
+  public static final String WARMUP_TIME_PROPERTY = "warmup.time";
+
+  /**
+   * One phase of the schedule.
+   */
+  public static final class Phase {
+    private final String name;
+    private final Properties props;
+    private final int operationcount;
+    private final long durationNs;
+    private final double target;
+
+    private Phase(String name, Properties props, int operationcount, long durationNs, double target) {
+      this.name = name;
+      this.props = props;
+      this.operationcount = operationcount;
+      this.durationNs = durationNs;
+      this.target = target;
+    }
+
+    /**
+     * The name of this phase, or null for the untagged phase of a run without phases.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * The properties of the run, with the overrides of this phase applied.
+     */
+    public Properties getProperties() {
+      return props;
+    }
+
+    /**
+     * Whether this phase is bounded by an operation count.
+     */
+    public boolean hasOperationCount() {
+      return operationcount > 0;
+    }
+
+    /**
+     * The share of the operations of this phase done by one client thread.
+     */
+    public int getOperationCount(int threadid, int threadcount) {
+      int share = operationcount / threadcount;
+      if (threadid < operationcount % threadcount) {
+        ++share;
+      }
+      return share;
+    }
+
+    /**
+     * The target throughput of one client thread in operations per ms, or 0 for no target.
+     */
+    public double getTargetPerThreadPerMs(int threadcount) {
+      return target / threadcount / 1000.0;
+    }
+  }
+
+  private final List<Phase> phases;
+  private final CyclicBarrier barrier;
+  private final Workload workload;
+  private final boolean warmup;
+  private int current = -1;
+  private volatile long deadlineNs;
+  private volatile long measuredStartMs;
+
+  /**
+   * Creates the schedule described by the properties.
+   *
+   * @param props       The properties of the run.
+   * @param workload    The workload to switch from phase to phase.
+   * @param threadcount The number of client threads running the schedule.
+   * @return the schedule, or null if neither phases nor a warm-up are configured.
+   * @throws WorkloadException if a phase has neither an operation count nor a duration.
+   */
+  public static PhaseSchedule create(Properties props, Workload workload, int threadcount)
+      throws WorkloadException {
+    String names = props.getProperty(PHASES_PROPERTY, "").trim();
+    int warmupcount = Integer.parseInt(props.getProperty(WARMUP_OPERATION_COUNT_PROPERTY, "0"));
+    long warmuptime = Long.parseLong(props.getProperty(WARMUP_TIME_PROPERTY, "0"));
+    boolean warmup = warmupcount > 0 || warmuptime > 0;
+    if (names.isEmpty() && !warmup) {
+      return null;
+    }
+    double runtarget = Double.parseDouble(props.getProperty(Client.TARGET_PROPERTY, "0"));
+    List<Phase> phases = new ArrayList<>();
+    if (warmup) {
+      phases.add(new Phase("WARMUP", props, warmupcount, TimeUnit.SECONDS.toNanos(warmuptime), runtarget));
+    }
+    if (names.isEmpty()) {
+      int operationcount = Integer.parseInt(props.getProperty(Client.OPERATION_COUNT_PROPERTY, "0"));
+      phases.add(new Phase(null, props, operationcount, 0, runtarget));
+      return new PhaseSchedule(phases, workload, threadcount, true);
+    }
+    for (String name : names.split(",")) {
+      name = name.trim();
+      String prefix = PHASE_PROPERTY_PREFIX + name + ".";
+      Properties phaseprops = new Properties();
+      phaseprops.putAll(props);
+      for (String key : props.stringPropertyNames()) {
+        if (key.startsWith(prefix)) {
+          phaseprops.setProperty(key.substring(prefix.length()), props.getProperty(key));
+        }
+      }
+      int operationcount = Integer.parseInt(props.getProperty(prefix + "operationcount", "0"));
+      long duration = Long.parseLong(props.getProperty(prefix + "duration", "0"));
+      if (operationcount <= 0 && duration <= 0) {
+        throw new WorkloadException("Phase " + name + " needs an operationcount or a duration");
+      }
+      double target = Double.parseDouble(props.getProperty(prefix + "target", String.valueOf(runtarget)));
+      phases.add(new Phase(name, phaseprops, operationcount, TimeUnit.SECONDS.toNanos(duration), target));
+    }
+    return new PhaseSchedule(phases, workload, threadcount, warmup);
+  }
+
+  private PhaseSchedule(List<Phase> phases, Workload workload, int threadcount, boolean warmup) {
+    this.phases = phases;
+    this.workload = workload;
+    this.warmup = warmup;
+    this.barrier = new CyclicBarrier(threadcount, this::advance);
+  }
+
+  /**
+   * Wait for all the client threads to finish the current phase, and start the next one.
+   *
+   * @return the phase to run next, or null once the schedule is over.
+   */
+  public Phase await() throws InterruptedException, BrokenBarrierException {
+    barrier.await();
+    synchronized (this) {
+      return current < phases.size() ? phases.get(current) : null;
+    }
+  }
+
+  /**
+   * The time at which the current phase ends, as given by {@link System#nanoTime()}, or 0 if the phase
+   * is only bounded by its operation count.
+   */
+  public long getDeadlineNs() {
+    return deadlineNs;
+  }
+
+  /**
+   * Whether the first phase is a warm-up.
+   */
+  public boolean hasWarmup() {
+    return warmup;
+  }
+
+  /**
+   * The time at which the phases following the warm-up started, in ms since the epoch, or 0 if the
+   * warm-up is not over or there is none.
+   */
+  public long getMeasuredStartMs() {
+    return measuredStartMs;
+  }
+
+  /**
+   * The total number of operations of the phases bounded by an operation count.
+   */
+  public int getOperationCount() {
+    int total = 0;
+    for (Phase phase : warmup ? phases.subList(1, phases.size()) : phases) {
+      total += phase.operationcount;
+    }
+    return total;
+  }
+
+  private synchronized void advance() {
+    current++;
+    Measurements measurements = Measurements.getMeasurements();
+    if (warmup && current == 1) {
+      measurements.reset();
+      measuredStartMs = System.currentTimeMillis();
+      System.err.println("Warm-up done");
+    }
+    if (current >= phases.size()) {
+      measurements.startPhase(null);
+      return;
+    }
+    Phase phase = phases.get(current);
+    if (phase.getName() == null || (warmup && current == 0)) {
+      // the warm-up and the run without phases use the properties and the measurements of the run
+      deadlineNs = phase.durationNs > 0 ? System.nanoTime() + phase.durationNs : 0;
+      return;
+    }
+    try {
+      workload.initPhase(phase.getProperties());
+    } catch (WorkloadException e) {
+      throw new IllegalStateException("Could not start phase " + phase.getName(), e);
+    }
+    measurements.startPhase(phase.getName());
+    System.err.println("Starting phase " + phase.getName());
+    deadlineNs = phase.durationNs > 0 ? System.nanoTime() + phase.durationNs : 0;
+  }
+}
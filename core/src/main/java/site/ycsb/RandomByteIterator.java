@@ -19,8 +19,6 @@ package site.ycsb;
 import lib.util.persistent.PersistentString;
 import eu.telecomsudparis.jnvm.offheap.OffHeapString;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  *  A ByteIterator that generates a random sequence of bytes.
  */
@@ -36,7 +34,7 @@ public class RandomByteIterator implements ByteIterator {
   }
 
   private void fillBytesImpl(byte[] buffer, int base) {
-    int bytes = ThreadLocalRandom.current().nextInt();
+    int bytes = Utils.random().nextInt();
 
     switch (buffer.length - base) {
     default:
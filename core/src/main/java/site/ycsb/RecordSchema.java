@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields of the records of a table, in a fixed order, so that a {@link ArrayRecord} keeps its values in an
+ * array indexed by field instead of hashing its fields.
+ */
+public final class RecordSchema {
+  private final List<ByteIterator> fields;
+  private final Map<ByteIterator, Integer> indices;
+
+  /**
+   * Creates the schema of records with the given fields, in that order.
+   */
+  public RecordSchema(List<? extends ByteIterator> fields) {
+    this.fields = Collections.unmodifiableList(new ArrayList<ByteIterator>(fields));
+    this.indices = new HashMap<>(fields.size() * 2);
+    for (int i = 0; i < fields.size(); i++) {
+      if (indices.put(fields.get(i), i) != null) {
+        throw new IllegalArgumentException("Duplicate field " + fields.get(i));
+      }
+    }
+  }
+
+  /**
+   * The number of fields.
+   */
+  public int size() {
+    return fields.size();
+  }
+
+  /**
+   * The field at the given index.
+   */
+  public ByteIterator field(int index) {
+    return fields.get(index);
+  }
+
+  /**
+   * The fields, in order.
+   */
+  public List<ByteIterator> fields() {
+    return fields;
+  }
+
+  /**
+   * The index of a field, or -1 if the records have no such field.
+   */
+  public int indexOf(Object field) {
+    Integer index = indices.get(field);
+    return index == null ? -1 : index;
+  }
+}
@@ -144,6 +144,11 @@ public class StringByteIterator implements ByteIterator, Serializable, Comparabl
     }
   }
 
+  @Override
+  public CharSequence asCharSequence() {
+    return off > 0 ? str.subSequence(off, str.length()) : str;
+  }
+
   @Override
   public StringByteIterator toStringByteIterator() {
     return this;
@@ -165,6 +170,8 @@ public class StringByteIterator implements ByteIterator, Serializable, Comparabl
     } else if (o instanceof OffHeapStringByteIterator) {
       OffHeapStringByteIterator a = (OffHeapStringByteIterator) o;
       return a.toOffHeapString().equals(this.str);
+    } else if (o instanceof KeyByteIterator) {
+      return o.equals(this);
     }
     return false;
   }
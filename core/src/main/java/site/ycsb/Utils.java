@@ -23,16 +23,54 @@ import java.lang.management.OperatingSystemMXBean;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
 
 /**
  * Utility functions.
  */
 public final class Utils {
+  // the source of the random streams of the threads, split once per thread
+  private static SplittableRandom seedRandom = new SplittableRandom();
+  private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(Utils::splitRandom);
+
   private Utils() {
     // not used
   }
 
+  /**
+   * The random stream of the current thread, which all the generators draw from.
+   */
+  public static SplittableRandom random() {
+    return RANDOM.get();
+  }
+
+  /**
+   * Seed the random streams, so that the threads splitting their stream in the same order draw the same
+   * values from one run to the next. The stream of the current thread is split from the new seed.
+   *
+   * @param seed The seed of the run.
+   */
+  public static void seedRandom(long seed) {
+    synchronized (Utils.class) {
+      seedRandom = new SplittableRandom(seed);
+    }
+    RANDOM.set(splitRandom());
+  }
+
+  /**
+   * Split a new random stream from the seed, to be used by a thread through {@link #setRandom}.
+   */
+  public static synchronized SplittableRandom splitRandom() {
+    return seedRandom.split();
+  }
+
+  /**
+   * Set the random stream of the current thread.
+   */
+  public static void setRandom(SplittableRandom random) {
+    RANDOM.set(random);
+  }
+
   /**
    * Hash an integer value.
    */
@@ -222,7 +260,7 @@ public final class Utils {
    */
   public static <T> T [] shuffleArray(final T[] array) {
     for (int i = array.length -1; i > 0; i--) {
-      final int idx = ThreadLocalRandom.current().nextInt(i + 1);
+      final int idx = random().nextInt(i + 1);
       final T temp = array[idx];
       array[idx] = array[i];
       array[i] = temp;
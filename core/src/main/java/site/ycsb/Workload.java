@@ -17,6 +17,8 @@
 
 package site.ycsb;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.Properties;
 
@@ -77,6 +79,16 @@ public abstract class Workload {
     return null;
   }
       
+  /**
+   * Reconfigure the scenario for the next phase of a multi-phase run (see {@link PhaseSchedule}). Called
+   * once per phase, while no operation is running, with the properties of the run overridden by those of
+   * the phase. State spanning the phases, such as the records inserted so far, should be kept. The client
+   * threads call initThread() again after this call. The default implementation keeps the same scenario
+   * for all the phases.
+   */
+  public void initPhase(Properties p) throws WorkloadException {
+  }
+
   /**
    * Cleanup the scenario. Called once, in the main client thread, after all operations have completed.
    */
@@ -105,6 +117,27 @@ public abstract class Workload {
    */
   public abstract boolean doTransaction(DB db, Object threadstate);
 
+  /**
+   * Issue one insert operation without waiting for it to complete. This is used by the "async" client
+   * executor, which keeps several operations in flight per client thread; the same thread safety rules as
+   * for doInsert() apply. The default implementation runs doInsert() and returns an already completed stage,
+   * so workloads that do not override it only ever have a single operation in flight.
+   *
+   * @return a stage completing with the value doInsert() would have returned.
+   */
+  public CompletionStage<Boolean> doInsertAsync(AsyncDB db, Object threadstate) {
+    return CompletableFuture.completedFuture(doInsert(db, threadstate));
+  }
+
+  /**
+   * Issue one transaction operation without waiting for it to complete. See doInsertAsync().
+   *
+   * @return a stage completing with the value doTransaction() would have returned.
+   */
+  public CompletionStage<Boolean> doTransactionAsync(AsyncDB db, Object threadstate) {
+    return CompletableFuture.completedFuture(doTransaction(db, threadstate));
+  }
+
   /**
    * Allows scheduling a request to stop the workload.
    */
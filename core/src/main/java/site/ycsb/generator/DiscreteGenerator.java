@@ -17,14 +17,19 @@
 
 package site.ycsb.generator;
 
+import site.ycsb.Utils;
+
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Generates a distribution by choosing from a discrete set of values.
+ *
+ * The values are drawn in constant time with the alias method of Walker and Vose: the table, built as
+ * the values are added, splits the distribution into equally likely columns of at most two values each,
+ * so that a value is drawn with one random number, whatever the number of values.
  */
 public class DiscreteGenerator extends Generator<String> {
   private static class Pair {
@@ -37,8 +42,11 @@ public class DiscreteGenerator extends Generator<String> {
     }
   }
 
-  private final Collection<Pair> values = new ArrayList<>();
+  private final List<Pair> values = new ArrayList<>();
   private String lastvalue;
+  // the probability of each column to draw its own value rather than its alias, null if no value can be drawn
+  private double[] probabilities;
+  private int[] aliases;
 
   public DiscreteGenerator() {
     lastvalue = null;
@@ -49,25 +57,38 @@ public class DiscreteGenerator extends Generator<String> {
    */
   @Override
   public String nextValue() {
-    double sum = 0;
-
-    for (Pair p : values) {
-      sum += p.weight;
+    int index = nextIndex();
+    if (index < 0) {
+      throw new IllegalStateException("No value to choose from");
     }
+    return values.get(index).value;
+  }
 
-    double val = ThreadLocalRandom.current().nextDouble();
-
-    for (Pair p : values) {
-      double pw = p.weight / sum;
-      if (val < pw) {
-        return p.value;
-      }
-
-      val -= pw;
+  /**
+   * Generate the index of the next value in the distribution, in the order the values were added, or -1
+   * if there is no value to choose from.
+   */
+  public int nextIndex() {
+    if (probabilities == null) {
+      return -1;
     }
+    double u = Utils.random().nextDouble() * probabilities.length;
+    int column = (int) u;
+    return u - column < probabilities[column] ? column : aliases[column];
+  }
 
-    throw new AssertionError("oops. should not get here.");
+  /**
+   * Return the number of values added.
+   */
+  public int size() {
+    return values.size();
+  }
 
+  /**
+   * Return the value added at the given index.
+   */
+  public String getValue(int index) {
+    return values.get(index).value;
   }
 
   /**
@@ -85,6 +106,61 @@ public class DiscreteGenerator extends Generator<String> {
 
   public void addValue(double weight, String value) {
     values.add(new Pair(weight, value));
+    buildAliasTable();
   }
 
+  private void buildAliasTable() {
+    int n = values.size();
+    double sum = 0;
+    for (Pair p : values) {
+      sum += p.weight;
+    }
+    if (!(sum > 0)) {
+      probabilities = null;
+      aliases = null;
+      return;
+    }
+
+    // each column is filled up to 1 with its own value, then with the value of a column above 1
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smalls = 0;
+    int larges = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = values.get(i).weight * n / sum;
+      if (scaled[i] < 1) {
+        small[smalls++] = i;
+      } else {
+        large[larges++] = i;
+      }
+    }
+    double[] prob = new double[n];
+    int[] alias = new int[n];
+    while (smalls > 0 && larges > 0) {
+      int s = small[--smalls];
+      int l = large[--larges];
+      prob[s] = scaled[s];
+      alias[s] = l;
+      scaled[l] += scaled[s] - 1;
+      if (scaled[l] < 1) {
+        small[smalls++] = l;
+      } else {
+        large[larges++] = l;
+      }
+    }
+    // what remains is 1 but for rounding errors
+    while (larges > 0) {
+      int l = large[--larges];
+      prob[l] = 1;
+      alias[l] = l;
+    }
+    while (smalls > 0) {
+      int s = small[--smalls];
+      prob[s] = 1;
+      alias[s] = s;
+    }
+    probabilities = prob;
+    aliases = alias;
+  }
 }
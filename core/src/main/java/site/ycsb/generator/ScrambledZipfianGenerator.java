@@ -99,7 +99,7 @@ zipfian constant
    */
   @Override
   public Long nextValue() {
-    long ret = gen.nextValue();
+    long ret = gen.nextLong();
     ret = min + Utils.fnvhash64(ret) % itemcount;
     setLastValue(ret);
     return ret;
@@ -30,6 +30,16 @@ public class SkewedLatestGenerator extends NumberGenerator {
     nextValue();
   }
 
+  /**
+   * Create a generator following the same basis as another one, e.g. for another thread, without computing
+   * the zipfian distribution again.
+   */
+  public SkewedLatestGenerator(SkewedLatestGenerator other) {
+    basis = other.basis;
+    zipfian = new ZipfianGenerator(other.zipfian);
+    nextValue();
+  }
+
   /**
    * Generate the next string in the distribution, skewed Zipfian favoring the items most recently returned by
    * the basis generator.
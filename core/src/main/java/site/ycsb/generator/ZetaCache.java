@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The zeta constants of the zipfian distributions, zeta(n, theta) = 1/1^theta + ... + 1/n^theta, which take
+ * a long time to sum for hundreds of millions of items.
+ *
+ * Exact values are summed in parallel, on the common fork-join pool, and kept in memory and, if a file is
+ * set, on disk, keyed by n and theta, so that the next jobs over the same key space read them back. Values
+ * may instead be approximated with the Euler-Maclaurin formula: the first {@value #EXACT_TERMS} terms are
+ * summed, and the rest is the integral of x^-theta with three correction terms. The error is less than the
+ * next correction term, see {@link #approximationError(long, double)}, which is far below the rounding
+ * error of the exact sum.
+ */
+public final class ZetaCache {
+  /**
+   * The number of terms summed exactly by the approximation, below which values are always exact.
+   */
+  public static final int EXACT_TERMS = 1000;
+
+  /**
+   * The number of terms summed by one fork-join task.
+   */
+  private static final long TASK_TERMS = 1 << 20;
+
+  private static final Map<String, Double> VALUES = new ConcurrentHashMap<>();
+
+  private static volatile boolean approximate;
+  private static volatile Path file;
+
+  private ZetaCache() {
+    // utility class
+  }
+
+  /**
+   * Sets how the zeta constants are computed from then on. The values kept in memory are dropped, and those of
+   * the file, if any, are read instead.
+   *
+   * @param approximateValues Whether the values are approximated rather than summed.
+   * @param cacheFile         The file which keeps the exact values across runs, or null.
+   */
+  public static synchronized void configure(boolean approximateValues, String cacheFile) {
+    approximate = approximateValues;
+    file = cacheFile == null || cacheFile.isEmpty() ? null : Paths.get(cacheFile);
+    VALUES.clear();
+    if (file != null) {
+      load(file);
+    }
+  }
+
+  /**
+   * The zeta constant of n items for the zipfian constant theta, approximated or exact as configured.
+   */
+  public static double zeta(long n, double theta) {
+    if (n <= EXACT_TERMS) {
+      return sum(0, n, theta, 0);
+    }
+    if (approximate) {
+      return approximate(n, theta);
+    }
+    String key = key(n, theta);
+    Double value = VALUES.get(key);
+    if (value == null) {
+      value = sum(0, n, theta, 0);
+      VALUES.put(key, value);
+      Path cacheFile = file;
+      if (cacheFile != null) {
+        store(cacheFile, key, value);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Adds the terms of the items st+1 to n to initialsum, on the common fork-join pool if there are many.
+   */
+  public static double sum(long st, long n, double theta, double initialsum) {
+    if (n - st <= TASK_TERMS) {
+      return initialsum + serialSum(st, n, theta);
+    }
+    return initialsum + ForkJoinPool.commonPool().invoke(new SumTask(st, n, theta));
+  }
+
+  /**
+   * The Euler-Maclaurin approximation of the zeta constant of n items for the zipfian constant theta.
+   */
+  public static double approximate(long n, double theta) {
+    if (n <= EXACT_TERMS) {
+      return serialSum(0, n, theta);
+    }
+    double m = EXACT_TERMS;
+    // terms 1 to m - 1, then the terms m to n from the integral of f(x) = x^-theta between m and n,
+    // half of f(m) and f(n), and the terms of the derivatives f', f''' and f^(5) at both ends
+    double sum = serialSum(0, EXACT_TERMS - 1, theta);
+    // m^(1-theta) (e^((1-theta) ln(n/m)) - 1) / (1-theta), which tends to ln(n/m) as theta tends to 1
+    double log = Math.log(n / m);
+    double exponent = (1 - theta) * log;
+    sum += exponent == 0 ? log : Math.pow(m, 1 - theta) * Math.expm1(exponent) / (1 - theta);
+    sum += (Math.pow(m, -theta) + Math.pow(n, -theta)) / 2;
+    double d1 = -theta;
+    double d3 = d1 * (theta + 1) * (theta + 2);
+    double d5 = d3 * (theta + 3) * (theta + 4);
+    sum += d1 * (Math.pow(n, -theta - 1) - Math.pow(m, -theta - 1)) / 12;
+    sum -= d3 * (Math.pow(n, -theta - 3) - Math.pow(m, -theta - 3)) / 720;
+    sum += d5 * (Math.pow(n, -theta - 5) - Math.pow(m, -theta - 5)) / 30240;
+    return sum;
+  }
+
+  /**
+   * A bound of the error of {@link #approximate(long, double)}: the next correction term, as the derivatives of
+   * x^-theta keep their sign, for theta > 0.
+   */
+  public static double approximationError(long n, double theta) {
+    if (n <= EXACT_TERMS) {
+      return 0;
+    }
+    double d7 = theta;
+    for (int i = 1; i < 7; i++) {
+      d7 *= theta + i;
+    }
+    return d7 * Math.pow(EXACT_TERMS, -theta - 7) / 1209600;
+  }
+
+  private static double serialSum(long st, long n, double theta) {
+    double sum = 0;
+    for (long i = st; i < n; i++) {
+      sum += 1 / Math.pow(i + 1, theta);
+    }
+    return sum;
+  }
+
+  private static String key(long n, double theta) {
+    return n + "," + theta;
+  }
+
+  private static void load(Path cacheFile) {
+    Properties values = read(cacheFile);
+    for (String key : values.stringPropertyNames()) {
+      try {
+        VALUES.put(key, Double.valueOf(values.getProperty(key)));
+      } catch (NumberFormatException e) {
+        System.err.println("Ignoring zeta constant " + key + " of " + cacheFile + ": " + e.getMessage());
+      }
+    }
+  }
+
+  private static Properties read(Path cacheFile) {
+    Properties values = new Properties();
+    try (InputStream in = Files.newInputStream(cacheFile)) {
+      values.load(in);
+    } catch (NoSuchFileException e) {
+      // no value yet
+    } catch (IOException e) {
+      System.err.println("Could not read the zeta constants of " + cacheFile + ": " + e);
+    }
+    return values;
+  }
+
+  /**
+   * Adds a value to the file, which other jobs may write at the same time: the file is read again and replaced
+   * as a whole, so that it always holds complete values.
+   */
+  private static synchronized void store(Path cacheFile, String key, double value) {
+    Properties values = read(cacheFile);
+    values.setProperty(key, Double.toString(value));
+    Path tmp = null;
+    try {
+      tmp = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), cacheFile.getFileName().toString(), ".tmp");
+      try (OutputStream out = Files.newOutputStream(tmp)) {
+        values.store(out, "zeta constants of the zipfian distributions, as n,theta=zeta");
+      }
+      Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      System.err.println("Could not write the zeta constants to " + cacheFile + ": " + e);
+      try {
+        if (tmp != null) {
+          Files.deleteIfExists(tmp);
+        }
+      } catch (IOException ignored) {
+        // left behind
+      }
+    }
+  }
+
+  /**
+   * Sums the terms of a range of items, splitting it in halves down to {@link #TASK_TERMS} terms.
+   */
+  private static final class SumTask extends RecursiveTask<Double> {
+    private static final long serialVersionUID = 1L;
+
+    private final long st;
+    private final long n;
+    private final double theta;
+
+    SumTask(long st, long n, double theta) {
+      this.st = st;
+      this.n = n;
+      this.theta = theta;
+    }
+
+    @Override
+    protected Double compute() {
+      if (n - st <= TASK_TERMS) {
+        return serialSum(st, n, theta);
+      }
+      long mid = st + (n - st) / 2;
+      SumTask high = new SumTask(mid, n, theta);
+      high.fork();
+      double low = new SumTask(st, mid, theta).compute();
+      return low + high.join();
+    }
+  }
+}
@@ -17,7 +17,11 @@
 
 package site.ycsb.generator;
 
-import java.util.concurrent.ThreadLocalRandom;
+import site.ycsb.Utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A generator of a zipfian distribution. It produces a sequence of items, such that some items are more popular than
@@ -33,10 +37,15 @@ import java.util.concurrent.ThreadLocalRandom;
  * Be aware: initializing this generator may take a long time if there are lots of items to choose from (e.g. over a
  * minute for 100 million objects). This is because certain mathematical values need to be computed to properly
  * generate a zipfian skew, and one of those values (zeta) is a sum sequence from 1 to n, where n is the itemcount.
+ * {@link ZetaCache} sums it in parallel and keeps it across runs, or approximates it in constant time.
  * Note that if you increase the number of items in the set, we can compute a new zeta incrementally, so it should be
  * fast unless you have added millions of items. However, if you decrease the number of items, we recompute zeta from
  * scratch, so this can take a long time.
  *
+ * The zeta constant and the values derived from it are an immutable snapshot, published through a volatile field.
+ * When the number of items changes, one background task on the common fork-join pool computes the next snapshot,
+ * while the generator keeps drawing from the previous one, so that no thread ever waits for another.
+ *
  * The algorithm used here is from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994.
  */
 public class ZipfianGenerator extends NumberGenerator {
@@ -60,12 +69,12 @@ public class ZipfianGenerator extends NumberGenerator {
   /**
    * Computed parameters for generating the distribution.
    */
-  private double alpha, zetan, eta, theta, zeta2theta;
+  private final double alpha, theta, zeta2theta;
 
   /**
-   * The number of items used to compute zetan the last time.
+   * The parameters which depend on the number of items, shared with the copies of this generator.
    */
-  private long countforzeta;
+  private final ZetaUpdater zeta;
 
   /**
    * Flag to prevent problems. If you increase the number of items the zipfian generator is allowed to choose from,
@@ -137,53 +146,45 @@ public class ZipfianGenerator extends NumberGenerator {
 
     theta = this.zipfianconstant;
 
-    zeta2theta = zeta(2, theta);
+    zeta2theta = zetastatic(2, theta);
     
     alpha = 1.0 / (1.0 - theta);
-    this.zetan = zetan;
-    countforzeta = items;
-    eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / this.zetan);
+    zeta = new ZetaUpdater(items, theta, zeta2theta, zetan);
 
     nextValue();
   }
 
-  /**************************************************************************/
-
   /**
-   * Compute the zeta constant needed for the distribution. Do this from scratch for a distribution with n items,
-   * using the zipfian constant thetaVal. Remember the value of n, so if we change the itemcount, we can recompute zeta.
+   * Create a zipfian generator with the same distribution as another one, without computing zeta again.
+   * The two generators share their zeta constant from then on, which is extended once for both when the
+   * item count grows.
    *
-   * @param n The number of items to compute zeta over.
-   * @param thetaVal The zipfian constant.
+   * @param other The generator to copy.
    */
-  double zeta(long n, double thetaVal) {
-    countforzeta = n;
-    return zetastatic(n, thetaVal);
+  public ZipfianGenerator(ZipfianGenerator other) {
+    items = other.items;
+    base = other.base;
+    zipfianconstant = other.zipfianconstant;
+    alpha = other.alpha;
+    theta = other.theta;
+    zeta2theta = other.zeta2theta;
+    zeta = other.zeta;
+    allowitemcountdecrease = other.allowitemcountdecrease;
+
+    nextValue();
   }
 
+  /**************************************************************************/
+
   /**
    * Compute the zeta constant needed for the distribution. Do this from scratch for a distribution with n items,
    * using the zipfian constant theta. This is a static version of the function which will not remember n.
+   * The value is taken from the {@link ZetaCache}.
    * @param n The number of items to compute zeta over.
    * @param theta The zipfian constant.
    */
   static double zetastatic(long n, double theta) {
-    return zetastatic(0, n, theta, 0);
-  }
-
-  /**
-   * Compute the zeta constant needed for the distribution. Do this incrementally for a distribution that
-   * has n items now but used to have st items. Use the zipfian constant thetaVal. Remember the new value of
-   * n so that if we change the itemcount, we'll know to recompute zeta.
-   *
-   * @param st The number of items used to compute the last initialsum
-   * @param n The number of items to compute zeta over.
-   * @param thetaVal The zipfian constant.
-   * @param initialsum The value of zeta we are computing incrementally from.
-   */
-  double zeta(long st, long n, double thetaVal, double initialsum) {
-    countforzeta = n;
-    return zetastatic(st, n, thetaVal, initialsum);
+    return ZetaCache.zeta(n, theta);
   }
 
   /**
@@ -196,15 +197,7 @@ public class ZipfianGenerator extends NumberGenerator {
    * @param initialsum The value of zeta we are computing incrementally from.
    */
   static double zetastatic(long st, long n, double theta, double initialsum) {
-    double sum = initialsum;
-    for (long i = st; i < n; i++) {
-
-      sum += 1 / (Math.pow(i + 1, theta));
-    }
-
-    //System.out.println("countforzeta="+countforzeta);
-
-    return sum;
+    return ZetaCache.sum(st, n, theta, initialsum);
   }
 
   /****************************************************************************************/
@@ -219,36 +212,11 @@ public class ZipfianGenerator extends NumberGenerator {
   long nextLong(long itemcount) {
     //from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994
 
-    if (itemcount != countforzeta) {
-
-      //have to recompute zetan and eta, since they depend on itemcount
-      synchronized (this) {
-        if (itemcount > countforzeta) {
-          //System.err.println("WARNING: Incrementally recomputing Zipfian distribtion. (itemcount="+itemcount+"
-          // countforzeta="+countforzeta+")");
+    //zetan and eta depend on itemcount. until they are recomputed, draw from the previous ones
+    Constants constants = zeta.constants(itemcount, allowitemcountdecrease);
 
-          //we have added more items. can compute zetan incrementally, which is cheaper
-          zetan = zeta(countforzeta, itemcount, theta, zetan);
-          eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
-        } else if ((itemcount < countforzeta) && (allowitemcountdecrease)) {
-          //have to start over with zetan
-          //note : for large itemsets, this is very slow. so don't do it!
-
-          //TODO: can also have a negative incremental computation, e.g. if you decrease the number of items,
-          // then just subtract the zeta sequence terms for the items that went away. This would be faster than
-          // recomputing from scratch when the number of items decreases
-
-          System.err.println("WARNING: Recomputing Zipfian distribtion. This is slow and should be avoided. " +
-              "(itemcount=" + itemcount + " countforzeta=" + countforzeta + ")");
-
-          zetan = zeta(itemcount, theta);
-          eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
-        }
-      }
-    }
-
-    double u = ThreadLocalRandom.current().nextDouble();
-    double uz = u * zetan;
+    double u = Utils.random().nextDouble();
+    double uz = u * constants.zetan;
 
     if (uz < 1.0) {
       return base;
@@ -258,9 +226,15 @@ public class ZipfianGenerator extends NumberGenerator {
       return base + 1;
     }
 
-    long ret = base + (long) ((itemcount) * Math.pow(eta * u - eta + 1, alpha));
-    setLastValue(ret);
-    return ret;
+    return base + (long) ((itemcount) * Math.pow(constants.eta * u - constants.eta + 1, alpha));
+  }
+
+  /**
+   * Generate the next item as a long, without setting it as the last value of this generator, which is shared
+   * by all the threads drawing from it.
+   */
+  long nextLong() {
+    return nextLong(items);
   }
 
   /**
@@ -271,7 +245,16 @@ public class ZipfianGenerator extends NumberGenerator {
    */
   @Override
   public Long nextValue() {
-    return nextLong(items);
+    long ret = nextLong(items);
+    setLastValue(ret);
+    return ret;
+  }
+
+  /**
+   * The zeta constant the generator draws from now, for tests.
+   */
+  double zetan() {
+    return zeta.constants.zetan;
   }
 
   public static void main(String[] args) {
@@ -285,4 +268,88 @@ public class ZipfianGenerator extends NumberGenerator {
   public double mean() {
     throw new UnsupportedOperationException("@todo implement ZipfianGenerator.mean()");
   }
+
+  /**
+   * The parameters which depend on the number of items.
+   */
+  private static final class Constants {
+    /**
+     * The number of items used to compute zetan.
+     */
+    private final long countforzeta;
+    private final double zetan;
+    private final double eta;
+
+    Constants(long countforzeta, double zetan, double eta) {
+      this.countforzeta = countforzeta;
+      this.zetan = zetan;
+      this.eta = eta;
+    }
+  }
+
+  /**
+   * Publishes the constants of the latest number of items asked for, computing them in one background task at a
+   * time. Each task carries on from the constants of the previous one, incrementally if the number of items grew.
+   */
+  private static final class ZetaUpdater implements Runnable {
+    private final long items;
+    private final double theta;
+    private final double zeta2theta;
+    private final AtomicLong target;
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile Constants constants;
+
+    ZetaUpdater(long items, double theta, double zeta2theta, double zetan) {
+      this.items = items;
+      this.theta = theta;
+      this.zeta2theta = zeta2theta;
+      this.target = new AtomicLong(items);
+      this.constants = constants(items, zetan);
+    }
+
+    /**
+     * The current constants, after asking for those of itemcount if they differ.
+     */
+    Constants constants(long itemcount, boolean allowitemcountdecrease) {
+      Constants current = constants;
+      if (itemcount != current.countforzeta && (itemcount > current.countforzeta || allowitemcountdecrease)) {
+        if (allowitemcountdecrease) {
+          target.set(itemcount);
+        } else if (itemcount > target.get()) {
+          target.accumulateAndGet(itemcount, Math::max);
+        }
+        if (updating.compareAndSet(false, true)) {
+          ForkJoinPool.commonPool().execute(this);
+        }
+      }
+      return current;
+    }
+
+    @Override
+    public void run() {
+      do {
+        try {
+          Constants current = constants;
+          long count = target.get();
+          if (count > current.countforzeta) {
+            //we have added more items. can compute zetan incrementally, which is cheaper
+            constants = constants(count, zetastatic(current.countforzeta, count, theta, current.zetan));
+          } else if (count < current.countforzeta) {
+            //have to start over with zetan
+            //note : for large itemsets, this is very slow. so don't do it!
+            System.err.println("WARNING: Recomputing Zipfian distribtion. This is slow and should be avoided. " +
+                "(itemcount=" + count + " countforzeta=" + current.countforzeta + ")");
+            constants = constants(count, zetastatic(count, theta));
+          }
+        } finally {
+          updating.set(false);
+        }
+        //carry on if more items were asked for while computing, and no other task was started for them
+      } while (target.get() != constants.countforzeta && updating.compareAndSet(false, true));
+    }
+
+    private Constants constants(long count, double zetan) {
+      return new Constants(count, zetan, (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan));
+    }
+  }
 }
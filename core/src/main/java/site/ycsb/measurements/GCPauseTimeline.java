@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The collections of the garbage collectors, as notified by the JVM, each with the time it started, so
+ * that latency spikes in the time series and in the HdrHistogram logs can be matched with them.
+ *
+ * Start times are in milliseconds since the epoch, as the StartTime of the time series and of the
+ * HdrHistogram logs. The collections of concurrent collectors are notified with the length of their
+ * cycle, which may not pause the application as long.
+ */
+class GCPauseTimeline implements NotificationListener {
+  /**
+   * The name under which the collections are exported.
+   */
+  static final String NAME = "GC-PAUSES";
+
+  private static final class Pause {
+    private final long start;
+    private final long duration;
+    private final String collector;
+    private final String action;
+    private final String cause;
+
+    private Pause(long start, long duration, String collector, String action, String cause) {
+      this.start = start;
+      this.duration = duration;
+      this.collector = collector;
+      this.action = action;
+      this.cause = cause;
+    }
+  }
+
+  private final long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+  private final List<Pause> pauses = new ArrayList<>();
+
+  GCPauseTimeline() {
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (bean instanceof NotificationEmitter) {
+        ((NotificationEmitter) bean).addNotificationListener(this, null, null);
+      }
+    }
+  }
+
+  @Override
+  public void handleNotification(Notification notification, Object handback) {
+    if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+      return;
+    }
+    GarbageCollectionNotificationInfo info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    GcInfo gc = info.getGcInfo();
+    Pause pause = new Pause(jvmStartTime + gc.getStartTime(), gc.getDuration(),
+        info.getGcName(), info.getGcAction(), info.getGcCause());
+    synchronized (this) {
+      pauses.add(pause);
+    }
+  }
+
+  /**
+   * Forget the collections notified so far, e.g. at the end of a warm-up.
+   */
+  synchronized void clear() {
+    pauses.clear();
+  }
+
+  /**
+   * Export the number and total length of the collections, then the length of each, in milliseconds,
+   * under its start time.
+   */
+  synchronized void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    long total = 0;
+    for (Pause pause : pauses) {
+      total += pause.duration;
+    }
+    exporter.write(NAME, "Operations", pauses.size());
+    exporter.write(NAME, "TotalTime(ms)", total);
+    for (Pause pause : pauses) {
+      exporter.write(NAME, Long.toString(pause.start), pause.duration);
+    }
+  }
+
+  /**
+   * Write the collections to a CSV file, one per line: start time, length, collector, action and cause.
+   */
+  synchronized void writeLog(String filename) throws IOException {
+    try (PrintStream log = new PrintStream(new FileOutputStream(filename), false, "UTF-8")) {
+      log.println("#StartTime(ms),Duration(ms),Collector,Action,Cause");
+      for (Pause pause : pauses) {
+        log.println(pause.start + "," + pause.duration + "," + pause.collector + "," + pause.action + ","
+            + pause.cause);
+      }
+    }
+  }
+}
@@ -21,6 +21,9 @@ import site.ycsb.Status;
 import site.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -49,6 +52,15 @@ public class Measurements {
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY = "measurement.trackjvm";
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT = "false";
 
+  public static final String MEASUREMENT_GC_PAUSES_PROPERTY = "measurement.gcpauses";
+  public static final String MEASUREMENT_GC_PAUSES_PROPERTY_DEFAULT = "false";
+
+  /**
+   * The name of the phase measuring the load when the transactions follow it with a warm-up, so that its
+   * operations are told apart from those of the run and kept when the warm-up ends, see {@link #reset()}.
+   */
+  public static final String LOAD_PHASE = "LOAD";
+
   private static Measurements singleton = null;
   private static Properties measurementproperties = null;
 
@@ -66,18 +78,30 @@ public class Measurements {
     return singleton;
   }
 
-  private final ConcurrentHashMap<String, OneMeasurement> opToMesurementMap;
-  private final ConcurrentHashMap<String, OneMeasurement> opToIntendedMesurementMap;
+  private volatile ConcurrentHashMap<String, OneMeasurement> opToMesurementMap;
+  private volatile ConcurrentHashMap<String, OneMeasurement> opToIntendedMesurementMap;
+  // measurement names are prefixed with the name of the current phase, if any
+  private volatile String phasePrefix = "";
+  // the measurements of the run followed by those of each phase, in order
+  private final List<ConcurrentHashMap<String, OneMeasurement>> allMeasurementMaps = new ArrayList<>();
+  private ConcurrentHashMap<String, OneMeasurement> runMesurementMap;
+  private ConcurrentHashMap<String, OneMeasurement> runIntendedMesurementMap;
   private final MeasurementType measurementType;
   private final int measurementInterval;
   private final Properties props;
+  // the collections of the garbage collectors, or null unless measurement.gcpauses is set
+  private final GCPauseTimeline gcpauses;
 
   /**
    * Create a new object with the specified properties.
    */
   public Measurements(Properties props) {
-    opToMesurementMap = new ConcurrentHashMap<>();
-    opToIntendedMesurementMap = new ConcurrentHashMap<>();
+    runMesurementMap = new ConcurrentHashMap<>();
+    runIntendedMesurementMap = new ConcurrentHashMap<>();
+    opToMesurementMap = runMesurementMap;
+    opToIntendedMesurementMap = runIntendedMesurementMap;
+    allMeasurementMaps.add(runMesurementMap);
+    allMeasurementMaps.add(runIntendedMesurementMap);
 
     this.props = props;
 
@@ -119,6 +143,10 @@ public class Measurements {
     default:
       throw new IllegalArgumentException("unknown " + MEASUREMENT_INTERVAL + "=" + mIntervalString);
     }
+
+    gcpauses = Boolean.parseBoolean(
+        this.props.getProperty(MEASUREMENT_GC_PAUSES_PROPERTY, MEASUREMENT_GC_PAUSES_PROPERTY_DEFAULT)) ?
+        new GCPauseTimeline() : null;
   }
 
   private OneMeasurement constructOneMeasurement(String name) {
@@ -215,10 +243,11 @@ public class Measurements {
   }
 
   private OneMeasurement getOpMeasurement(String operation) {
-    OneMeasurement m = opToMesurementMap.get(operation);
+    final ConcurrentHashMap<String, OneMeasurement> map = opToMesurementMap;
+    OneMeasurement m = map.get(operation);
     if (m == null) {
-      m = constructOneMeasurement(operation);
-      OneMeasurement oldM = opToMesurementMap.putIfAbsent(operation, m);
+      m = constructOneMeasurement(phasePrefix + operation);
+      OneMeasurement oldM = map.putIfAbsent(operation, m);
       if (oldM != null) {
         m = oldM;
       }
@@ -227,11 +256,12 @@ public class Measurements {
   }
 
   private OneMeasurement getOpIntendedMeasurement(String operation) {
-    OneMeasurement m = opToIntendedMesurementMap.get(operation);
+    final ConcurrentHashMap<String, OneMeasurement> map = opToIntendedMesurementMap;
+    OneMeasurement m = map.get(operation);
     if (m == null) {
       final String name = measurementInterval == 1 ? operation : "Intended-" + operation;
-      m = constructOneMeasurement(name);
-      OneMeasurement oldM = opToIntendedMesurementMap.putIfAbsent(operation, m);
+      m = constructOneMeasurement(phasePrefix + name);
+      OneMeasurement oldM = map.putIfAbsent(operation, m);
       if (oldM != null) {
         m = oldM;
       }
@@ -255,13 +285,97 @@ public class Measurements {
    * @param exporter Exporter representing the type of format to write to.
    * @throws IOException Thrown if the export failed.
    */
-  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
-    for (OneMeasurement measurement : opToMesurementMap.values()) {
-      measurement.exportMeasurements(exporter);
+  public synchronized void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    for (ConcurrentHashMap<String, OneMeasurement> map : allMeasurementMaps) {
+      for (OneMeasurement measurement : map.values()) {
+        measurement.exportMeasurements(exporter);
+      }
+    }
+    if (gcpauses != null) {
+      gcpauses.exportMeasurements(exporter);
+      if (Boolean.parseBoolean(props.getProperty("hdrhistogram.fileoutput", "false"))) {
+        // next to the HdrHistogram logs
+        gcpauses.writeLog(props.getProperty("hdrhistogram.output.path", "") + GCPauseTimeline.NAME + ".log");
+      }
+    }
+  }
+
+  /**
+   * Tag the following measurements with the name of a phase of the run: operations are measured apart
+   * from those of the previous phases, under the name "&lt;phase&gt;:&lt;operation&gt;". A null name
+   * returns to the untagged measurements of the run.
+   */
+  public synchronized void startPhase(String phase) {
+    if (phase == null) {
+      phasePrefix = "";
+      opToMesurementMap = runMesurementMap;
+      opToIntendedMesurementMap = runIntendedMesurementMap;
+    } else {
+      phasePrefix = phase + ":";
+      opToMesurementMap = new ConcurrentHashMap<>();
+      opToIntendedMesurementMap = new ConcurrentHashMap<>();
+      allMeasurementMaps.add(opToMesurementMap);
+      allMeasurementMaps.add(opToIntendedMesurementMap);
     }
-    for (OneMeasurement measurement : opToIntendedMesurementMap.values()) {
-      measurement.exportMeasurements(exporter);
+  }
+
+  /**
+   * Discard the untagged measurements of the run taken so far, e.g. at the end of a warm-up, and return to
+   * them. The measurements of the load, the LOAD* ones and those of the phase named {@link #LOAD_PHASE},
+   * are kept. The discarded measurements are closed, and operations measured concurrently may be recorded
+   * in them.
+   */
+  public synchronized void reset() {
+    ConcurrentHashMap<String, OneMeasurement> measurementMap = new ConcurrentHashMap<>();
+    ConcurrentHashMap<String, OneMeasurement> intendedMeasurementMap = new ConcurrentHashMap<>();
+    keepLoad(runMesurementMap, measurementMap);
+    keepLoad(runIntendedMesurementMap, intendedMeasurementMap);
+    // the run comes first, as the other phases follow it; the maps are found by position, as they compare
+    // by content
+    allMeasurementMaps.set(0, measurementMap);
+    allMeasurementMaps.set(1, intendedMeasurementMap);
+    runMesurementMap = measurementMap;
+    runIntendedMesurementMap = intendedMeasurementMap;
+    if (gcpauses != null) {
+      gcpauses.clear();
     }
+    startPhase(null);
+  }
+
+  private static void keepLoad(Map<String, OneMeasurement> from, Map<String, OneMeasurement> to) {
+    for (Map.Entry<String, OneMeasurement> entry : from.entrySet()) {
+      if (entry.getKey().startsWith(LOAD_PHASE)) {
+        to.put(entry.getKey(), entry.getValue());
+      } else {
+        entry.getValue().close();
+      }
+    }
+  }
+
+  /**
+   * Start a new measurement window for every operation, see {@link #getWindowPercentile(String, double)}.
+   */
+  public void startWindow() {
+    for (OneMeasurement m : opToMesurementMap.values()) {
+      m.startWindow();
+    }
+    for (OneMeasurement m : opToIntendedMesurementMap.values()) {
+      m.startWindow();
+    }
+  }
+
+  /**
+   * Return the latency of an operation at the given percentile, among the measurements taken since the
+   * last call to {@link #startWindow()}. Intended latencies are used when they are measured.
+   *
+   * @return the latency in nanoseconds, or -1 if the operation was not measured or its measurement type
+   * does not keep a distribution of latencies.
+   */
+  public long getWindowPercentile(String operation, double percentile) {
+    OneMeasurement m = measurementInterval == 0 ?
+        opToMesurementMap.get(operation) :
+        opToIntendedMesurementMap.get(operation);
+    return m == null ? -1 : m.getWindowPercentile(percentile);
   }
 
   /**
@@ -49,6 +49,28 @@ public abstract class OneMeasurement {
 
   public abstract String getSummary();
 
+  /**
+   * Start a new measurement window, see {@link #getWindowPercentile(double)}.
+   */
+  public void startWindow() {
+  }
+
+  /**
+   * The value at the given percentile among the measurements taken since the last call to
+   * {@link #startWindow()}, or since this measurement was created.
+   *
+   * @return the value, or -1 if this measurement does not keep a distribution of its values.
+   */
+  public long getWindowPercentile(double percentile) {
+    return -1;
+  }
+
+  /**
+   * Release the files this measurement writes to, when it is discarded rather than exported.
+   */
+  public void close() {
+  }
+
   /**
    * No need for synchronization, using CHM to deal with that.
    */
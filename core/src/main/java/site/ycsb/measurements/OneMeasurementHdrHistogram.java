@@ -44,6 +44,7 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
 
   private final Recorder histogram;
   private Histogram totalHistogram;
+  private Histogram windowHistogram;
 
   /**
    * The name of the property for deciding what percentile values to output.
@@ -91,6 +92,7 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
       histogramLogWriter.outputLegend();
     }
     histogram = new Recorder(5);
+    windowHistogram = new Histogram(5);
   }
 
   /**
@@ -101,15 +103,21 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
     histogram.recordValue(latencyInNanos);
   }
 
+  @Override
+  public void close() {
+    if (histogramLogWriter != null) {
+      log.close();
+    }
+  }
+
   /**
    * This is called from a main thread, on orderly termination.
    */
   @Override
   public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
     // accumulate the last interval which was not caught by status thread
-    Histogram intervalHistogram = getIntervalHistogramAndAccumulate();
+    getIntervalHistogramAndAccumulate();
     if (histogramLogWriter != null) {
-      histogramLogWriter.outputIntervalHistogram(intervalHistogram);
       // we can close now
       log.close();
     }
@@ -145,10 +153,6 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
   @Override
   public String getSummary() {
     Histogram intervalHistogram = getIntervalHistogramAndAccumulate();
-    // we use the summary interval as the histogram file interval.
-    if (histogramLogWriter != null) {
-      histogramLogWriter.outputIntervalHistogram(intervalHistogram);
-    }
 
     DecimalFormat d = new DecimalFormat("#.##");
     return "[" + getName() + ": Count=" + intervalHistogram.getTotalCount() + ", Max="
@@ -159,7 +163,24 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
         + d.format(intervalHistogram.getValueAtPercentile(99.99)) + "]";
   }
 
-  private Histogram getIntervalHistogramAndAccumulate() {
+  @Override
+  public synchronized void startWindow() {
+    getIntervalHistogramAndAccumulate();
+    windowHistogram.reset();
+  }
+
+  @Override
+  public synchronized long getWindowPercentile(double percentile) {
+    getIntervalHistogramAndAccumulate();
+    return windowHistogram.getValueAtPercentile(percentile);
+  }
+
+  /**
+   * Drains the interval histogram into the total and window histograms. Every drained interval is
+   * serialized to the histogram log, so the log intervals are the status intervals unless windows
+   * are also being sampled.
+   */
+  private synchronized Histogram getIntervalHistogramAndAccumulate() {
     Histogram intervalHistogram = histogram.getIntervalHistogram();
     // add this to the total time histogram.
     if (totalHistogram == null) {
@@ -167,6 +188,10 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
     } else {
       totalHistogram.add(intervalHistogram);
     }
+    windowHistogram.add(intervalHistogram);
+    if (histogramLogWriter != null) {
+      histogramLogWriter.outputIntervalHistogram(intervalHistogram);
+    }
     return intervalHistogram;
   }
 
@@ -138,6 +138,13 @@ public class OneMeasurementRaw extends OneMeasurement {
     measurements.add(new RawDataPoint(latency));
   }
 
+  @Override
+  public void close() {
+    if (outputStream != System.out) {
+      outputStream.close();
+    }
+  }
+
   @Override
   public void exportMeasurements(MeasurementsExporter exporter)
       throws IOException {
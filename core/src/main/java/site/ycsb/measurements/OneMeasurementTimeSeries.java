@@ -122,6 +122,8 @@ public class OneMeasurementTimeSeries extends OneMeasurement {
     exporter.write(getName(), "AverageLatency(ns)", (((double) totallatency) / ((double) operations)));
     exporter.write(getName(), "MinLatency(ns)", min);
     exporter.write(getName(), "MaxLatency(ns)", max);
+    // the series below are in milliseconds since then
+    exporter.write(getName(), "StartTime(ms)", start);
 
     // TODO: 95th and 99th percentile latency
 
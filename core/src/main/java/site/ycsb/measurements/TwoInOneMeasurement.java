@@ -53,6 +53,24 @@ public class TwoInOneMeasurement extends OneMeasurement {
     thing2.measure(latencyInNanos);
   }
 
+  @Override
+  public void startWindow() {
+    thing1.startWindow();
+    thing2.startWindow();
+  }
+
+  @Override
+  public long getWindowPercentile(double percentile) {
+    long value = thing1.getWindowPercentile(percentile);
+    return value >= 0 ? value : thing2.getWindowPercentile(percentile);
+  }
+
+  @Override
+  public void close() {
+    thing1.close();
+    thing2.close();
+  }
+
   /**
    * This is called from a main thread, on orderly termination.
    */
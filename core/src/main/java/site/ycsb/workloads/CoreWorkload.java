@@ -25,8 +25,11 @@ import site.ycsb.measurements.Measurements;
 import eu.telecomsudparis.jnvm.offheap.OffHeap;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import javax.xml.ws.Holder;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * The core benchmark scenario. Represents a set of clients doing simple CRUD operations. The
@@ -66,6 +69,23 @@ import java.util.*;
  * order ("hashed") (default: hashed)
  * <LI><b>fieldnameprefix</b>: what should be a prefix for field names, the shorter may decrease the
  * required storage size (default: "field")
+ * <LI><b>batchsize</b>: how many records each read, update and insert transaction accesses at once,
+ * through the multi-record operations of the DB (default: 1)
+ * <LI><b>partitionedload</b>: should each client thread insert its own contiguous range of the
+ * records of this YCSB instance (true), or take the next key from a sequence shared by all threads
+ * (false) (default: false)
+ * <LI><b>reusekeys</b>: should each client thread build the keys of its reads, updates, scans and
+ * read-modify-writes in place, in one key object it reuses, instead of allocating a new key for each
+ * operation (default: false). Only for bindings which do not retain these keys past the operation,
+ * and not with the pcj property.
+ * <LI><b>valuepool</b>: the size in bytes of a pool of random data generated at startup, from which the
+ * random values are sliced instead of being generated for each operation, or 0 for no pool (default: 0).
+ * Not used when compressibility is below 1.
+ * <LI><b>compressibility</b>: the ratio of each random value which is random, the rest repeating it, so that
+ * compressed stores shrink the values to about this ratio (default: 1, incompressible)
+ * <LI><b>compressibility.histogram</b>: a file giving the frequencies of the characters of the random values,
+ * in the format of the field length histogram, where bucket i is the character ' ' + i, to lower their
+ * entropy (default: none, uniform over the printable characters)
  * </ul>
  */
 public class CoreWorkload extends Workload {
@@ -93,6 +113,8 @@ public class CoreWorkload extends Workload {
   
   private List<ByteIterator> fieldnames;
 
+  private RecordSchema recordschema;
+
   /**
    * The name of the property for the field length distribution. Options are "uniform", "zipfian"
    * (favouring short records), "constant", and "histogram".
@@ -188,6 +210,29 @@ public class CoreWorkload extends Workload {
    */
   private boolean dataintegrity;
 
+  /**
+   * The name of the property for the values written and checked when dataintegrity is set: "template"
+   * values, built by hashing the value again for each few characters, or "hash" values, drawn from a
+   * 64-bit hash of their key, field and version, which are cheap enough to be verified on every read.
+   */
+  public static final String DATA_INTEGRITY_MODE_PROPERTY = "dataintegritymode";
+
+  /**
+   * The default value for the dataintegritymode property.
+   */
+  public static final String DATA_INTEGRITY_MODE_PROPERTY_DEFAULT = "template";
+
+  /**
+   * Set to true if dataintegrity is set with "hash" values, which reads then verify.
+   */
+  private boolean hashintegrity;
+
+  /**
+   * The length of the version at the head of the "hash" values, in hexadecimal, followed by ':'. Shorter
+   * values have no version.
+   */
+  private static final int HASH_VERSION_LENGTH = 9;
+
   /**
    * The name of the property for deciding whether to use off-heap
    * data (true) or on-heap data (false) for key, columns, and fields value.
@@ -281,6 +326,22 @@ public class CoreWorkload extends Workload {
    */
   public static final String REQUEST_DISTRIBUTION_PROPERTY_DEFAULT = "uniform";
 
+  /**
+   * The name of the property for how the zeta constants of the zipfian distributions are computed: "exact",
+   * summed over all the items in parallel, or "approximate", with the Euler-Maclaurin formula in constant time.
+   */
+  public static final String ZIPFIAN_ZETA_PROPERTY = "zipfianzeta";
+
+  /**
+   * The default value for the zipfianzeta property.
+   */
+  public static final String ZIPFIAN_ZETA_PROPERTY_DEFAULT = "exact";
+
+  /**
+   * The name of the property for the file which keeps the exact zeta constants across runs, none by default.
+   */
+  public static final String ZIPFIAN_ZETA_CACHE_PROPERTY = "zipfianzetacache";
+
   /**
    * The name of the property for adding zero padding to record numbers in order to match
    * string sort order. Controls the number of 0s to left pad with.
@@ -376,6 +437,112 @@ public class CoreWorkload extends Workload {
    */
   public static final String FIELD_NAME_PREFIX_DEFAULT = "field";
 
+  /**
+   * The name of the property for the number of records accessed by each read, update and insert transaction.
+   */
+  public static final String BATCH_SIZE_PROPERTY = "batchsize";
+
+  /**
+   * Default value of the batch size.
+   */
+  public static final String BATCH_SIZE_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The name of the property deciding whether each client thread loads its own contiguous range of keys.
+   */
+  public static final String PARTITIONED_LOAD_PROPERTY = "partitionedload";
+
+  /**
+   * Default value of the partitioned load property.
+   */
+  public static final String PARTITIONED_LOAD_PROPERTY_DEFAULT = "false";
+
+  /**
+   * The name of the property deciding whether each client thread reuses one key object for its lookups.
+   */
+  public static final String REUSE_KEYS_PROPERTY = "reusekeys";
+
+  /**
+   * Default value of the reuse keys property.
+   */
+  public static final String REUSE_KEYS_PROPERTY_DEFAULT = "false";
+
+  /**
+   * The name of the property for the size in bytes of the pool of random data values are sliced from.
+   */
+  public static final String VALUE_POOL_PROPERTY = "valuepool";
+
+  /**
+   * Default size of the value pool, no pool.
+   */
+  public static final String VALUE_POOL_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The name of the property for the ratio of each random value which is random.
+   */
+  public static final String COMPRESSIBILITY_PROPERTY = "compressibility";
+
+  /**
+   * Default compressibility, incompressible values.
+   */
+  public static final String COMPRESSIBILITY_PROPERTY_DEFAULT = "1";
+
+  /**
+   * The name of the property for the file of the frequencies of the characters of random values.
+   */
+  public static final String COMPRESSIBILITY_HISTOGRAM_PROPERTY = "compressibility.histogram";
+
+  /**
+   * The operations of the transaction phase, as named in the operation generator, see
+   * {@link #createOperationGenerator(Properties)}.
+   */
+  private enum TransactionType {
+    READ, UPDATE, INSERT, SCAN, READMODIFYWRITE
+  }
+
+  /**
+   * The state of one client thread: its own instances of the generators, so that the threads do not
+   * contend on shared ones.
+   */
+  private static final class ThreadState {
+    private final NumberGenerator keysequence;
+    private final DiscreteGenerator operationchooser;
+    // the operation of each value of the operation chooser, by index
+    private final TransactionType[] operations;
+    private final NumberGenerator keychooser;
+    private final NumberGenerator fieldchooser;
+    private final NumberGenerator fieldlengthgenerator;
+    private final NumberGenerator scanlength;
+    // the key of the blocking lookups of this thread, built in place, or null to allocate each key
+    private KeyByteIterator lookupkey;
+    // the result of the blocking reads of this thread and its record, or null to allocate each result
+    private Holder<Map<ByteIterator, ByteIterator>> readresult;
+    private ArrayRecord readrecord;
+
+    private ThreadState(NumberGenerator keysequence, DiscreteGenerator operationchooser, NumberGenerator keychooser,
+                        NumberGenerator fieldchooser, NumberGenerator fieldlengthgenerator,
+                        NumberGenerator scanlength) {
+      this.keysequence = keysequence;
+      this.operationchooser = operationchooser;
+      this.operations = new TransactionType[operationchooser.size()];
+      for (int i = 0; i < operations.length; i++) {
+        operations[i] = TransactionType.valueOf(operationchooser.getValue(i));
+      }
+      this.keychooser = keychooser;
+      this.fieldchooser = fieldchooser;
+      this.fieldlengthgenerator = fieldlengthgenerator;
+      this.scanlength = scanlength;
+    }
+
+    /**
+     * The next operation to do, or null if there is none to choose from.
+     */
+    private TransactionType nextOperation() {
+      int index = operationchooser.nextIndex();
+      return index < 0 ? null : operations[index];
+    }
+  }
+
   protected NumberGenerator keysequence;
   protected DiscreteGenerator operationchooser;
   protected NumberGenerator keychooser;
@@ -388,6 +555,16 @@ public class CoreWorkload extends Workload {
   protected int zeropadding;
   protected int insertionRetryLimit;
   protected int insertionRetryInterval;
+  protected boolean partitionedload;
+  protected boolean reusekeys;
+  protected byte[] valuepool;
+  protected double compressibility;
+  protected NumberGenerator symbolchooser;
+  protected int batchsize;
+  protected long loadstart;
+  protected long loadcount;
+  // the generators above, used when no thread state is given
+  private volatile ThreadState sharedstate;
 
   private Measurements measurements = Measurements.getMeasurements();
 
@@ -450,6 +627,12 @@ public class CoreWorkload extends Workload {
         fieldnames.add(new StringByteIterator(fieldnameprefix + i));
       }
     }
+    recordschema = new RecordSchema(fieldnames);
+    String zetamode = p.getProperty(ZIPFIAN_ZETA_PROPERTY, ZIPFIAN_ZETA_PROPERTY_DEFAULT);
+    if (!zetamode.equals("exact") && !zetamode.equals("approximate")) {
+      throw new WorkloadException("Unknown " + ZIPFIAN_ZETA_PROPERTY + " \"" + zetamode + "\"");
+    }
+    ZetaCache.configure(zetamode.equals("approximate"), p.getProperty(ZIPFIAN_ZETA_CACHE_PROPERTY));
     fieldlengthgenerator = CoreWorkload.getFieldLengthGenerator(p);
 
     recordcount =
@@ -457,14 +640,6 @@ public class CoreWorkload extends Workload {
     if (recordcount == 0) {
       recordcount = Integer.MAX_VALUE;
     }
-    String requestdistrib =
-        p.getProperty(REQUEST_DISTRIBUTION_PROPERTY, REQUEST_DISTRIBUTION_PROPERTY_DEFAULT);
-    int minscanlength =
-        Integer.parseInt(p.getProperty(MIN_SCAN_LENGTH_PROPERTY, MIN_SCAN_LENGTH_PROPERTY_DEFAULT));
-    int maxscanlength =
-        Integer.parseInt(p.getProperty(MAX_SCAN_LENGTH_PROPERTY, MAX_SCAN_LENGTH_PROPERTY_DEFAULT));
-    String scanlengthdistrib =
-        p.getProperty(SCAN_LENGTH_DISTRIBUTION_PROPERTY, SCAN_LENGTH_DISTRIBUTION_PROPERTY_DEFAULT);
 
     long insertstart =
         Long.parseLong(p.getProperty(INSERT_START_PROPERTY, INSERT_START_PROPERTY_DEFAULT));
@@ -479,16 +654,16 @@ public class CoreWorkload extends Workload {
     zeropadding =
         Integer.parseInt(p.getProperty(ZERO_PADDING_PROPERTY, ZERO_PADDING_PROPERTY_DEFAULT));
 
-    readallfields = Boolean.parseBoolean(
-        p.getProperty(READ_ALL_FIELDS_PROPERTY, READ_ALL_FIELDS_PROPERTY_DEFAULT));
-    writeallfields = Boolean.parseBoolean(
-        p.getProperty(WRITE_ALL_FIELDS_PROPERTY, WRITE_ALL_FIELDS_PROPERTY_DEFAULT));
-
     dataintegrity = Boolean.parseBoolean(
         p.getProperty(DATA_INTEGRITY_PROPERTY, DATA_INTEGRITY_PROPERTY_DEFAULT));
+    String integritymode = p.getProperty(DATA_INTEGRITY_MODE_PROPERTY, DATA_INTEGRITY_MODE_PROPERTY_DEFAULT);
+    if (!integritymode.equals("template") && !integritymode.equals("hash")) {
+      throw new WorkloadException("Unknown " + DATA_INTEGRITY_MODE_PROPERTY + " \"" + integritymode + "\"");
+    }
+    hashintegrity = dataintegrity && integritymode.equals("hash");
     // Confirm that fieldlengthgenerator returns a constant if data
-    // integrity check requested.
-    if (dataintegrity && !(p.getProperty(
+    // integrity check requested. The hash values carry their own length.
+    if (dataintegrity && !hashintegrity && !(p.getProperty(
         FIELD_LENGTH_DISTRIBUTION_PROPERTY,
         FIELD_LENGTH_DISTRIBUTION_PROPERTY_DEFAULT)).equals("constant")) {
       System.err.println("Must have constant field size to check data integrity.");
@@ -502,11 +677,105 @@ public class CoreWorkload extends Workload {
     }
 
     keysequence = new CounterGenerator(insertstart);
-    operationchooser = createOperationGenerator(p);
+    partitionedload = Boolean.parseBoolean(
+        p.getProperty(PARTITIONED_LOAD_PROPERTY, PARTITIONED_LOAD_PROPERTY_DEFAULT));
+    loadstart = insertstart;
+    loadcount = insertcount;
+    reusekeys = Boolean.parseBoolean(p.getProperty(REUSE_KEYS_PROPERTY, REUSE_KEYS_PROPERTY_DEFAULT)) && !pcj;
+    compressibility = Double.parseDouble(p.getProperty(COMPRESSIBILITY_PROPERTY, COMPRESSIBILITY_PROPERTY_DEFAULT));
+    if (compressibility <= 0 || compressibility > 1) {
+      throw new WorkloadException("Invalid " + COMPRESSIBILITY_PROPERTY + " " + compressibility);
+    }
+    String symbolhistogram = p.getProperty(COMPRESSIBILITY_HISTOGRAM_PROPERTY);
+    if (symbolhistogram != null) {
+      try {
+        symbolchooser = new HistogramGenerator(symbolhistogram);
+      } catch (IOException e) {
+        throw new WorkloadException("Couldn't read character histogram file: " + symbolhistogram, e);
+      }
+    }
+    int poolsize = Integer.parseInt(p.getProperty(VALUE_POOL_PROPERTY, VALUE_POOL_PROPERTY_DEFAULT));
+    if (poolsize > 0 && compressibility == 1) {
+      valuepool = new byte[poolsize];
+      newRandomValue(poolsize).nextBuf(valuepool, 0);
+    }
 
     transactioninsertkeysequence = new AcknowledgedCounterGenerator(recordcount);
+
+    fieldchooser = new UniformLongGenerator(0, fieldcount - 1);
+
+    initOperationMix(p);
+
+    insertionRetryLimit = Integer.parseInt(p.getProperty(
+        INSERTION_RETRY_LIMIT, INSERTION_RETRY_LIMIT_DEFAULT));
+    insertionRetryInterval = Integer.parseInt(p.getProperty(
+        INSERTION_RETRY_INTERVAL, INSERTION_RETRY_INTERVAL_DEFAULT));
+  }
+
+  /**
+   * Give the thread its own generators. With a partitioned load, the thread also gets the keys from its
+   * own contiguous range of the records of this YCSB instance. The ranges are split as the insert
+   * operations are among the threads.
+   */
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    NumberGenerator threadkeysequence = keysequence;
+    if (partitionedload) {
+      long share = loadcount / threadcount;
+      long start = loadstart + mythreadid * share + Math.min(mythreadid, loadcount % threadcount);
+      threadkeysequence = new CounterGenerator(start);
+    }
+    ThreadState state = new ThreadState(threadkeysequence, createOperationGenerator(p), createThreadKeyChooser(p),
+        new UniformLongGenerator(0, fieldcount - 1), getFieldLengthGenerator(p), createScanLengthGenerator(p));
+    if (reusekeys) {
+      state.lookupkey = new KeyByteIterator("user", zeropadding);
+    }
+    state.readresult = new Holder<>();
+    state.readrecord = new ArrayRecord(recordschema);
+    return state;
+  }
+
+  /**
+   * Switch to the operation mix and request distribution of the next phase. The inserted records are kept.
+   */
+  @Override
+  public void initPhase(Properties p) throws WorkloadException {
+    initOperationMix(p);
+  }
+
+  /**
+   * Creates the generators choosing the operations, the records they access and the length of scans.
+   */
+  private void initOperationMix(Properties p) throws WorkloadException {
+    batchsize = Integer.parseInt(p.getProperty(BATCH_SIZE_PROPERTY, BATCH_SIZE_PROPERTY_DEFAULT));
+    if (batchsize < 1) {
+      throw new WorkloadException("Invalid " + BATCH_SIZE_PROPERTY + " " + batchsize);
+    }
+    readallfields = Boolean.parseBoolean(
+        p.getProperty(READ_ALL_FIELDS_PROPERTY, READ_ALL_FIELDS_PROPERTY_DEFAULT));
+    writeallfields = Boolean.parseBoolean(
+        p.getProperty(WRITE_ALL_FIELDS_PROPERTY, WRITE_ALL_FIELDS_PROPERTY_DEFAULT));
+
+    operationchooser = createOperationGenerator(p);
+    keychooser = createKeyChooser(p);
+    scanlength = createScanLengthGenerator(p);
+    sharedstate = new ThreadState(keysequence, operationchooser, keychooser, fieldchooser, fieldlengthgenerator,
+        scanlength);
+  }
+
+  /**
+   * Creates the generator choosing the records the operations access.
+   */
+  private NumberGenerator createKeyChooser(Properties p) throws WorkloadException {
+    long insertstart =
+        Long.parseLong(p.getProperty(INSERT_START_PROPERTY, INSERT_START_PROPERTY_DEFAULT));
+    long insertcount=
+        Integer.parseInt(p.getProperty(INSERT_COUNT_PROPERTY, String.valueOf(recordcount - insertstart)));
+    String requestdistrib =
+        p.getProperty(REQUEST_DISTRIBUTION_PROPERTY, REQUEST_DISTRIBUTION_PROPERTY_DEFAULT);
+    NumberGenerator chooser;
     if (requestdistrib.compareTo("uniform") == 0) {
-      keychooser = new UniformLongGenerator(insertstart, insertstart + insertcount - 1);
+      chooser = new UniformLongGenerator(insertstart, insertstart + insertcount - 1);
     } else if (requestdistrib.compareTo("exponential") == 0) {
       double percentile = Double.parseDouble(p.getProperty(
           ExponentialGenerator.EXPONENTIAL_PERCENTILE_PROPERTY,
@@ -514,9 +783,9 @@ public class CoreWorkload extends Workload {
       double frac = Double.parseDouble(p.getProperty(
           ExponentialGenerator.EXPONENTIAL_FRAC_PROPERTY,
           ExponentialGenerator.EXPONENTIAL_FRAC_DEFAULT));
-      keychooser = new ExponentialGenerator(percentile, recordcount * frac);
+      chooser = new ExponentialGenerator(percentile, recordcount * frac);
     } else if (requestdistrib.compareTo("sequential") == 0) {
-      keychooser = new SequentialGenerator(insertstart, insertstart + insertcount - 1);
+      chooser = new SequentialGenerator(insertstart, insertstart + insertcount - 1);
     } else if (requestdistrib.compareTo("zipfian") == 0) {
       // it does this by generating a random "next key" in part by taking the modulus over the
       // number of keys.
@@ -532,22 +801,47 @@ public class CoreWorkload extends Workload {
       int opcount = Integer.parseInt(p.getProperty(Client.OPERATION_COUNT_PROPERTY));
       int expectednewkeys = (int) ((opcount) * insertproportion * 2.0); // 2 is fudge factor
 
-      keychooser = new ScrambledZipfianGenerator(insertstart, insertstart + insertcount + expectednewkeys);
+      chooser = new ScrambledZipfianGenerator(insertstart, insertstart + insertcount + expectednewkeys);
     } else if (requestdistrib.compareTo("latest") == 0) {
-      keychooser = new SkewedLatestGenerator(transactioninsertkeysequence);
+      chooser = new SkewedLatestGenerator(transactioninsertkeysequence);
     } else if (requestdistrib.equals("hotspot")) {
       double hotsetfraction =
           Double.parseDouble(p.getProperty(HOTSPOT_DATA_FRACTION, HOTSPOT_DATA_FRACTION_DEFAULT));
       double hotopnfraction =
           Double.parseDouble(p.getProperty(HOTSPOT_OPN_FRACTION, HOTSPOT_OPN_FRACTION_DEFAULT));
-      keychooser = new HotspotIntegerGenerator(insertstart, insertstart + insertcount - 1,
+      chooser = new HotspotIntegerGenerator(insertstart, insertstart + insertcount - 1,
           hotsetfraction, hotopnfraction);
     } else {
       throw new WorkloadException("Unknown request distribution \"" + requestdistrib + "\"");
     }
+    return chooser;
+  }
 
-    fieldchooser = new UniformLongGenerator(0, fieldcount - 1);
+  /**
+   * Creates the key chooser of one client thread. A sequential chooser is shared by all the threads, so
+   * that they go through the records together, and the zipfian distribution of a latest chooser is
+   * copied rather than computed again.
+   */
+  private NumberGenerator createThreadKeyChooser(Properties p) throws WorkloadException {
+    if (keychooser instanceof SequentialGenerator) {
+      return keychooser;
+    } else if (keychooser instanceof SkewedLatestGenerator) {
+      return new SkewedLatestGenerator((SkewedLatestGenerator) keychooser);
+    }
+    return createKeyChooser(p);
+  }
 
+  /**
+   * Creates the generator choosing the length of scans.
+   */
+  private static NumberGenerator createScanLengthGenerator(Properties p) throws WorkloadException {
+    int minscanlength =
+        Integer.parseInt(p.getProperty(MIN_SCAN_LENGTH_PROPERTY, MIN_SCAN_LENGTH_PROPERTY_DEFAULT));
+    int maxscanlength =
+        Integer.parseInt(p.getProperty(MAX_SCAN_LENGTH_PROPERTY, MAX_SCAN_LENGTH_PROPERTY_DEFAULT));
+    String scanlengthdistrib =
+        p.getProperty(SCAN_LENGTH_DISTRIBUTION_PROPERTY, SCAN_LENGTH_DISTRIBUTION_PROPERTY_DEFAULT);
+    NumberGenerator scanlength;
     if (scanlengthdistrib.compareTo("uniform") == 0) {
       scanlength = new UniformLongGenerator(minscanlength, maxscanlength);
     } else if (scanlengthdistrib.compareTo("zipfian") == 0) {
@@ -556,11 +850,7 @@ public class CoreWorkload extends Workload {
       throw new WorkloadException(
           "Distribution \"" + scanlengthdistrib + "\" not allowed for scan length");
     }
-
-    insertionRetryLimit = Integer.parseInt(p.getProperty(
-        INSERTION_RETRY_LIMIT, INSERTION_RETRY_LIMIT_DEFAULT));
-    insertionRetryInterval = Integer.parseInt(p.getProperty(
-        INSERTION_RETRY_INTERVAL, INSERTION_RETRY_INTERVAL_DEFAULT));
+    return scanlength;
   }
 
   protected ByteIterator buildKeyName(long keynum) {
@@ -568,91 +858,190 @@ public class CoreWorkload extends Workload {
   }
 
   protected ByteIterator buildKeyName(long keynum, boolean offHeap, boolean pcJ) {
-    if (!orderedinserts) {
-      keynum = Utils.hash(keynum);
-    }
+    return namedKey(orderedinserts ? keynum : Utils.hash(keynum), offHeap, pcJ);
+  }
+
+  /**
+   * Builds the key named after a number as it is, i.e. already hashed unless the keys are inserted in order.
+   *
+   * @param insert Whether the key is of a record to insert, and so allocated as the values are (see the offheap
+   *               and pcj properties).
+   */
+  protected ByteIterator buildNamedKey(long keynum, boolean insert) {
+    return insert ? namedKey(keynum, offheap, pcj) : namedKey(keynum, false, false);
+  }
+
+  private ByteIterator namedKey(long keynum, boolean offHeap, boolean pcJ) {
     String value = Long.toString(keynum);
     int fill = zeropadding - value.length();
-    String prekey = "user";
+    StringBuilder prekey = new StringBuilder(4 + Math.max(fill, 0) + value.length()).append("user");
     for (int i = 0; i < fill; i++) {
-      prekey += '0';
+      prekey.append('0');
+    }
+    String key = prekey.append(value).toString();
+    return (offHeap) ? new OffHeapCachedStringByteIterator(key)
+           : (pcj) ? new PersistentStringByteIterator(key)
+           : new StringByteIterator(key);
+  }
+
+  /**
+   * Builds the key of a blocking lookup, in place in the key of the thread if it reuses its keys.
+   */
+  private ByteIterator buildLookupKeyName(long keynum, ThreadState state) {
+    if (state.lookupkey == null) {
+      return buildKeyName(keynum);
+    }
+    return state.lookupkey.set(orderedinserts ? keynum : Utils.hash(keynum));
+  }
+
+  /**
+   * Builds the result of a blocking read, in the result of the thread if it has one. The binding may replace
+   * the record of the result with its own, so the record of the thread is put back and emptied each time.
+   *
+   * @param threadstate The state of the thread, as returned by {@link #initThread}.
+   */
+  protected Holder<Map<ByteIterator, ByteIterator>> buildReadResult(Object threadstate) {
+    ThreadState state = (ThreadState) threadstate;
+    if (state.readresult == null) {
+      Holder<Map<ByteIterator, ByteIterator>> cells = new Holder<>();
+      cells.value = new ArrayRecord(recordschema);
+      return cells;
     }
-    return (offHeap) ? new OffHeapCachedStringByteIterator(prekey + value)
-           : (pcj) ? new PersistentStringByteIterator(prekey + value)
-           : new StringByteIterator(prekey + value);
+    state.readrecord.clear();
+    state.readresult.value = state.readrecord;
+    return state.readresult;
   }
 
   /**
    * Builds a value for a randomly chosen field.
    */
-  private HashMap<ByteIterator, ByteIterator> buildSingleValue(ByteIterator key) {
-    HashMap<ByteIterator, ByteIterator> value = new HashMap<>();
+  private ArrayRecord buildSingleValue(ByteIterator key, ThreadState state) {
+    long st = System.nanoTime();
+    ArrayRecord value = new ArrayRecord(recordschema);
+
+    int field = state.fieldchooser.nextValue().intValue();
+    value.set(field, buildFieldValue(key, field, state));
+
+    return finishValues(value, st);
+  }
+
+  /**
+   * Builds values for all fields.
+   */
+  private ArrayRecord buildValues(ByteIterator key, ThreadState state) {
+    long st = System.nanoTime();
+    ArrayRecord values = new ArrayRecord(recordschema);
+
+    for (int i = 0; i < fieldnames.size(); i++) {
+      values.set(i, buildFieldValue(key, i, state));
+    }
+    return finishValues(values, st);
+  }
+
+  /**
+   * Builds random values of the given length, for one field, or for all of them if field is negative.
+   */
+  protected ArrayRecord buildValues(int field, long length) {
+    long st = System.nanoTime();
+    ArrayRecord values = new ArrayRecord(recordschema);
+
+    if (field >= 0) {
+      values.set(field, buildRandomValue(length));
+    } else {
+      for (int i = 0; i < fieldnames.size(); i++) {
+        values.set(i, buildRandomValue(length));
+      }
+    }
+    return finishValues(values, st);
+  }
+
+  /**
+   * The name of a field, or null if there is no such field.
+   */
+  protected ByteIterator getFieldName(int field) {
+    return field >= 0 && field < fieldnames.size() ? fieldnames.get(field) : null;
+  }
 
-    ByteIterator fieldkey = fieldnames.get(fieldchooser.nextValue().intValue());
-    ByteIterator data;
+  private ByteIterator buildFieldValue(ByteIterator key, int field, ThreadState state) {
     if (dataintegrity) {
-      String val = buildDeterministicValue(key, fieldkey);
-      data = (offheap) ? new OffHeapStringByteIterator(val)
+      String val = hashintegrity ? buildHashedValue(key, field, state)
+          : buildDeterministicValue(key, fieldnames.get(field), state);
+      return (offheap) ? new OffHeapStringByteIterator(val)
              : (pcj) ? new PersistentStringByteIterator(val)
              : new StringByteIterator(val);
-    } else {
-      // fill with random data
-      data = new RandomByteIterator(fieldlengthgenerator.nextValue().longValue());
-      if (pcj) {
-        data = data.toPersistentStringByteIterator();
-      } else if (!offheap) {
-        data = data.toStringByteIterator();
-      }
     }
-    if (offheap) {
-      OffHeapStringByteIterator ohsbi = data.toOffHeapStringByteIterator();
-      ohsbi.validate();
-      ohsbi.flush();
-      data = ohsbi;
+    return buildRandomValue(state.fieldlengthgenerator.nextValue().longValue());
+  }
+
+  private ByteIterator buildRandomValue(long length) {
+    if (valuepool != null && length <= valuepool.length) {
+      return buildPoolValue((int) length);
+    }
+    // fill with random data
+    ByteIterator data = newRandomValue(length);
+    if (pcj) {
+      return data.toPersistentStringByteIterator();
+    } else if (!offheap) {
+      return data.toStringByteIterator();
     }
-    value.put(fieldkey, data);
+    return data.toOffHeapStringByteIterator();
+  }
 
-    return value;
+  /**
+   * A new random value, compressible or following the character frequencies if they are set.
+   */
+  private ByteIterator newRandomValue(long length) {
+    if (compressibility < 1 || symbolchooser != null) {
+      return new CompressibleByteIterator(length, compressibility, symbolchooser);
+    }
+    return new RandomByteIterator(length);
   }
 
   /**
-   * Builds values for all fields.
+   * Builds a value from a random slice of the value pool. On heap, the value is a view of the pool, which is
+   * never written once generated. The persistent values are copied from the slice, which is ASCII, so that it
+   * is copied as is into their String.
    */
-  private HashMap<ByteIterator, ByteIterator> buildValues(ByteIterator key) {
-    HashMap<ByteIterator, ByteIterator> values = new HashMap<>();
+  private ByteIterator buildPoolValue(int length) {
+    int start = Utils.random().nextInt(valuepool.length - length + 1);
+    if (!pcj && !offheap) {
+      return new ByteArrayByteIterator(valuepool, start, length);
+    }
+    String val = new String(valuepool, start, length, StandardCharsets.ISO_8859_1);
+    if (pcj) {
+      return new PersistentStringByteIterator(val);
+    }
+    return new OffHeapStringByteIterator(val);
+  }
 
-    for (ByteIterator fieldkey : fieldnames) {
-      ByteIterator data;
-      if (dataintegrity) {
-        String val = buildDeterministicValue(key, fieldkey);
-        data = (offheap) ? new OffHeapStringByteIterator(val)
-             : (pcj) ? new PersistentStringByteIterator(val)
-             : new StringByteIterator(val);
-      } else {
-        // fill with random data
-        data = new RandomByteIterator(fieldlengthgenerator.nextValue().longValue());
-        if (pcj) {
-          data = data.toPersistentStringByteIterator();
-        } else if (!offheap) {
-          data = data.toStringByteIterator();
+  /**
+   * Completes the values of a record built since startTime, measured under VALUEGEN. The off-heap values
+   * are persisted together: each is validated and written back, then they are fenced once for the record,
+   * instead of each value being persisted as it is built.
+   */
+  private ArrayRecord finishValues(ArrayRecord values, long startTime) {
+    if (offheap) {
+      OffHeapStringByteIterator last = null;
+      for (int i = 0; i < recordschema.size(); i++) {
+        if (values.get(i) != null) {
+          last = (OffHeapStringByteIterator) values.get(i);
+          last.validate();
+          last.flush();
         }
       }
-      if (offheap) {
-        OffHeapStringByteIterator ohsbi = data.toOffHeapStringByteIterator();
-        ohsbi.validate();
-        ohsbi.flush();
-        data = ohsbi;
+      if (last != null) {
+        last.fence();
       }
-      values.put(fieldkey, data);
     }
+    measurements.measure("VALUEGEN", System.nanoTime() - startTime);
     return values;
   }
 
   /**
    * Build a deterministic value given the key information.
    */
-  private String buildDeterministicValue(ByteIterator key, ByteIterator fieldkey) {
-    int size = fieldlengthgenerator.nextValue().intValue();
+  private String buildDeterministicValue(ByteIterator key, ByteIterator fieldkey, ThreadState state) {
+    int size = state.fieldlengthgenerator.nextValue().intValue();
     StringBuilder sb = new StringBuilder(size);
     sb.append(key.toString());
     sb.append(':');
@@ -666,6 +1055,91 @@ public class CoreWorkload extends Workload {
     return sb.toString();
   }
 
+  /**
+   * Build a value from a hash of its key, field and a random version: the version, then characters drawn
+   * from the hash of their position. It is built, and verified, in time linear in its length.
+   */
+  private String buildHashedValue(ByteIterator key, int field, ThreadState state) {
+    int size = state.fieldlengthgenerator.nextValue().intValue();
+    byte[] val = new byte[size];
+    int version = 0;
+    int pos = 0;
+    if (size >= HASH_VERSION_LENGTH) {
+      version = Utils.random().nextInt();
+      for (; pos < HASH_VERSION_LENGTH - 1; pos++) {
+        val[pos] = (byte) Character.forDigit((version >>> (28 - 4 * pos)) & 0xf, 16);
+      }
+      val[pos++] = ':';
+    }
+    long seed = hashSeed(key, field, version);
+    long h = 0;
+    for (int i = 0; pos < size; i++) {
+      if ((i & 7) == 0) {
+        h = mix64(seed + (i >>> 3) * 0x9E3779B97F4A7C15L);
+      }
+      val[pos++] = hashedChar(h, i);
+    }
+    return new String(val, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Whether the value is the hash value of the key and field, for the version it holds.
+   */
+  static boolean isHashedValue(ByteIterator key, int field, CharSequence val) {
+    int version = 0;
+    int pos = 0;
+    if (val.length() >= HASH_VERSION_LENGTH) {
+      for (; pos < HASH_VERSION_LENGTH - 1; pos++) {
+        int digit = Character.digit(val.charAt(pos), 16);
+        if (digit < 0) {
+          return false;
+        }
+        version = version << 4 | digit;
+      }
+      if (val.charAt(pos++) != ':') {
+        return false;
+      }
+    }
+    long seed = hashSeed(key, field, version);
+    long h = 0;
+    for (int i = 0; pos < val.length(); i++) {
+      if ((i & 7) == 0) {
+        h = mix64(seed + (i >>> 3) * 0x9E3779B97F4A7C15L);
+      }
+      if (val.charAt(pos++) != hashedChar(h, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long hashSeed(ByteIterator key, int field, int version) {
+    // FNV-1a of the key, which toString() does not consume
+    String k = key.toString();
+    long h = Utils.FNV_OFFSET_BASIS_64;
+    for (int i = 0; i < k.length(); i++) {
+      h = (h ^ k.charAt(i)) * Utils.FNV_PRIME_64;
+    }
+    return mix64(mix64(h + field) + version);
+  }
+
+  /**
+   * The i-th character of a hash value, one of 64 printable characters, 8 of them being drawn from the hash
+   * of each position divided by 8.
+   */
+  private static byte hashedChar(long h, int i) {
+    return (byte) ('0' + ((h >>> ((i & 7) * 6)) & 63));
+  }
+
+  /**
+   * The finalizer of SplitMix64, a fast mix of the 64 bits of a value.
+   */
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
   /**
    * Do one insert operation. Because it will be called concurrently from multiple client threads,
    * this function must be thread safe. However, avoid synchronized, or the threads will block waiting
@@ -674,9 +1148,10 @@ public class CoreWorkload extends Workload {
    */
   @Override
   public boolean doInsert(DB db, Object threadstate) {
-    int keynum = keysequence.nextValue().intValue();
+    ThreadState state = state(threadstate);
+    int keynum = state.keysequence.nextValue().intValue();
     ByteIterator dbkey = buildKeyName(keynum, offheap, pcj);
-    HashMap<ByteIterator, ByteIterator> values = buildValues(dbkey);
+    ArrayRecord values = buildValues(dbkey, state);
 
     Status status;
     int numOfRetries = 0;
@@ -709,6 +1184,13 @@ public class CoreWorkload extends Workload {
     return null != status && status.isOk();
   }
 
+  /**
+   * The state given by initThread(), or the generators shared by all the threads if there is none.
+   */
+  private ThreadState state(Object threadstate) {
+    return threadstate instanceof ThreadState ? (ThreadState) threadstate : sharedstate;
+  }
+
   /**
    * Do one transaction operation. Because it will be called concurrently from multiple client
    * threads, this function must be thread safe. However, avoid synchronized, or the threads will block waiting
@@ -717,31 +1199,96 @@ public class CoreWorkload extends Workload {
    */
   @Override
   public boolean doTransaction(DB db, Object threadstate) {
-    String operation = operationchooser.nextString();
+    ThreadState state = state(threadstate);
+    TransactionType operation = state.nextOperation();
     if(operation == null) {
       return false;
     }
 
     switch (operation) {
-    case "READ":
-      doTransactionRead(db);
+    case READ:
+      if (batchsize > 1) {
+        doTransactionMultiRead(db, state);
+      } else {
+        doTransactionRead(db, state);
+      }
       break;
-    case "UPDATE":
-      doTransactionUpdate(db);
+    case UPDATE:
+      if (batchsize > 1) {
+        doTransactionMultiUpdate(db, state);
+      } else {
+        doTransactionUpdate(db, state);
+      }
       break;
-    case "INSERT":
-      doTransactionInsert(db);
+    case INSERT:
+      if (batchsize > 1) {
+        doTransactionMultiInsert(db, state);
+      } else {
+        doTransactionInsert(db, state);
+      }
       break;
-    case "SCAN":
-      doTransactionScan(db);
+    case SCAN:
+      doTransactionScan(db, state);
       break;
     default:
-      doTransactionReadModifyWrite(db);
+      doTransactionReadModifyWrite(db, state);
     }
 
     return true;
   }
 
+  /**
+   * Issue one insert operation without waiting for it to complete. Retried insertions back off by
+   * sleeping, so when an insertion retry limit is configured the blocking path is used instead.
+   */
+  @Override
+  public CompletionStage<Boolean> doInsertAsync(AsyncDB db, Object threadstate) {
+    if (insertionRetryLimit > 0) {
+      return super.doInsertAsync(db, threadstate);
+    }
+    ThreadState state = state(threadstate);
+    int keynum = state.keysequence.nextValue().intValue();
+    ByteIterator dbkey = buildKeyName(keynum, offheap, pcj);
+    ArrayRecord values = buildValues(dbkey, state);
+    return db.insertAsync(table, dbkey, values).thenApply(status -> null != status && status.isOk());
+  }
+
+  /**
+   * Issue one transaction operation without waiting for it to complete. There are no asynchronous
+   * multi-record operations, so batched transactions use the blocking path.
+   */
+  @Override
+  public CompletionStage<Boolean> doTransactionAsync(AsyncDB db, Object threadstate) {
+    if (batchsize > 1) {
+      return super.doTransactionAsync(db, threadstate);
+    }
+    ThreadState state = state(threadstate);
+    TransactionType operation = state.nextOperation();
+    if(operation == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    CompletionStage<Status> stage;
+    switch (operation) {
+    case READ:
+      stage = doTransactionReadAsync(db, state);
+      break;
+    case UPDATE:
+      stage = doTransactionUpdateAsync(db, state);
+      break;
+    case INSERT:
+      stage = doTransactionInsertAsync(db, state);
+      break;
+    case SCAN:
+      stage = doTransactionScanAsync(db, state);
+      break;
+    default:
+      stage = doTransactionReadModifyWriteAsync(db, state);
+    }
+
+    return stage.thenApply(status -> true);
+  }
+
   /**
    * Results are reported in the first three buckets of the histogram under
    * the label "VERIFY".
@@ -754,7 +1301,7 @@ public class CoreWorkload extends Workload {
     long startTime = System.nanoTime();
     if (!cells.isEmpty()) {
       for (Map.Entry<ByteIterator, ByteIterator> entry : cells.entrySet()) {
-        if (!entry.getValue().toString().equals(buildDeterministicValue(key, entry.getKey()))) {
+        if (!verifyValue(key, entry.getKey(), entry.getValue())) {
           verifyStatus = Status.UNEXPECTED_STATE;
           break;
         }
@@ -768,78 +1315,128 @@ public class CoreWorkload extends Workload {
     measurements.reportStatus("VERIFY", verifyStatus);
   }
 
+  private boolean verifyValue(ByteIterator key, ByteIterator fieldkey, ByteIterator value) {
+    // checked against the chars of the value, which does not consume the value returned by the store
+    // while other threads may be reading it too, nor copy it when it is on the heap
+    if (!hashintegrity) {
+      return buildDeterministicValue(key, fieldkey, sharedstate).contentEquals(value.asCharSequence());
+    }
+    int field = recordschema.indexOf(fieldkey);
+    return field >= 0 && isHashedValue(key, field, value.asCharSequence());
+  }
+
   long nextKeynum() {
+    return nextKeynum(sharedstate);
+  }
+
+  private long nextKeynum(ThreadState state) {
     long keynum;
-    if (keychooser instanceof ExponentialGenerator) {
+    if (state.keychooser instanceof ExponentialGenerator) {
       do {
-        keynum = transactioninsertkeysequence.lastValue() - keychooser.nextValue().intValue();
+        keynum = transactioninsertkeysequence.lastValue() - state.keychooser.nextValue().intValue();
       } while (keynum < 0);
     } else {
       do {
-        keynum = keychooser.nextValue().intValue();
+        keynum = state.keychooser.nextValue().intValue();
       } while (keynum > transactioninsertkeysequence.lastValue());
     }
     return keynum;
   }
 
   public void doTransactionRead(DB db) {
+    doTransactionRead(db, sharedstate);
+  }
+
+  private void doTransactionRead(DB db, ThreadState state) {
     // choose a random key
-    long keynum = nextKeynum();
+    long keynum = nextKeynum(state);
 
-    ByteIterator keyname = buildKeyName(keynum);
+    ByteIterator keyname = buildLookupKeyName(keynum, state);
 
-    HashSet<ByteIterator> fields = null;
+    // pass the full field list if dataintegrity is on for verification
+    HashSet<ByteIterator> fields = buildReadFields(dataintegrity, state);
 
-    if (!readallfields) {
-      // read a random field
-      ByteIterator fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
-
-      fields = new HashSet<ByteIterator>();
-      fields.add(fieldname);
-    } else if (dataintegrity) {
-      // pass the full field list if dataintegrity is on for verification
-      fields = new HashSet<ByteIterator>(fieldnames);
-    }
-
-    Holder<Map<ByteIterator, ByteIterator>> cells = new Holder<>();
-    cells.value = new HashMap<ByteIterator, ByteIterator>();
+    Holder<Map<ByteIterator, ByteIterator>> cells = buildReadResult(state);
     db.read(table, keyname, fields, cells);
 
-    if (dataintegrity) {
-      //verifyRow(keyname, cells.value);
+    // only the hash values are cheap enough to verify on every read
+    if (hashintegrity) {
+      verifyRow(keyname, cells.value);
     }
   }
 
-  public void doTransactionReadModifyWrite(DB db) {
-    // choose a random key
-    long keynum = nextKeynum();
+  public CompletionStage<Status> doTransactionReadAsync(AsyncDB db) {
+    return doTransactionReadAsync(db, sharedstate);
+  }
+
+  private CompletionStage<Status> doTransactionReadAsync(AsyncDB db, ThreadState state) {
+    long keynum = nextKeynum(state);
 
     ByteIterator keyname = buildKeyName(keynum);
 
+    HashSet<ByteIterator> fields = buildReadFields(dataintegrity, state);
+
+    Holder<Map<ByteIterator, ByteIterator>> cells = new Holder<>();
+    cells.value = new ArrayRecord(recordschema);
+    CompletionStage<Status> stage = db.readAsync(table, keyname, fields, cells);
+    if (hashintegrity) {
+      return stage.thenApply(status -> {
+        verifyRow(keyname, cells.value);
+        return status;
+      });
+    }
+    return stage;
+  }
+
+  /**
+   * Chooses the fields to read: a random one unless readallfields is set, in which case null (all
+   * fields) is returned, or the full field list when allfields is set.
+   */
+  private HashSet<ByteIterator> buildReadFields(boolean allfields, ThreadState state) {
     HashSet<ByteIterator> fields = null;
 
     if (!readallfields) {
       // read a random field
-      ByteIterator fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
+      ByteIterator fieldname = fieldnames.get(state.fieldchooser.nextValue().intValue());
 
       fields = new HashSet<ByteIterator>();
       fields.add(fieldname);
+    } else if (allfields) {
+      fields = new HashSet<ByteIterator>(fieldnames);
     }
+    return fields;
+  }
 
-    HashMap<ByteIterator, ByteIterator> values;
-
+  /**
+   * Builds the values written by an update or a read-modify-write.
+   */
+  private ArrayRecord buildUpdateValues(ByteIterator keyname, ThreadState state) {
     if (writeallfields) {
       // new data for all the fields
-      values = buildValues(keyname);
+      return buildValues(keyname, state);
     } else {
       // update a random field
-      values = buildSingleValue(keyname);
+      return buildSingleValue(keyname, state);
     }
+  }
+
+  public void doTransactionReadModifyWrite(DB db) {
+    doTransactionReadModifyWrite(db, sharedstate);
+  }
+
+  private void doTransactionReadModifyWrite(DB db, ThreadState state) {
+    // choose a random key
+    long keynum = nextKeynum(state);
+
+    ByteIterator keyname = buildLookupKeyName(keynum, state);
+
+    HashSet<ByteIterator> fields = buildReadFields(false, state);
+
+    ArrayRecord values = buildUpdateValues(keyname, state);
 
     // do the transaction
 
-    Holder<Map<ByteIterator, ByteIterator>> cells = new Holder<>();
-    cells.value = new HashMap<ByteIterator, ByteIterator>();
+    Holder<Map<ByteIterator, ByteIterator>> cells = buildReadResult(state);
 
 
     long ist = measurements.getIntendedtartTimeNs();
@@ -850,69 +1447,200 @@ public class CoreWorkload extends Workload {
 
     long en = System.nanoTime();
 
-    if (dataintegrity) {
-      //verifyRow(keyname, cells.value);
+    if (hashintegrity) {
+      verifyRow(keyname, cells.value);
     }
 
     measurements.measure("READ-MODIFY-WRITE", en - st);
     measurements.measureIntended("READ-MODIFY-WRITE", en - ist);
   }
 
+  public CompletionStage<Status> doTransactionReadModifyWriteAsync(AsyncDB db) {
+    return doTransactionReadModifyWriteAsync(db, sharedstate);
+  }
+
+  private CompletionStage<Status> doTransactionReadModifyWriteAsync(AsyncDB db, ThreadState state) {
+    // choose a random key
+    long keynum = nextKeynum(state);
+
+    ByteIterator keyname = buildKeyName(keynum);
+
+    HashSet<ByteIterator> fields = buildReadFields(false, state);
+
+    ArrayRecord values = buildUpdateValues(keyname, state);
+
+    // do the transaction, the write is issued once the read completed
+
+    Holder<Map<ByteIterator, ByteIterator>> cells = new Holder<>();
+    cells.value = new ArrayRecord(recordschema);
+
+    long ist = measurements.getIntendedtartTimeNs();
+    long st = System.nanoTime();
+    return db.readAsync(table, keyname, fields, cells)
+        .thenCompose(status -> {
+          if (hashintegrity) {
+            verifyRow(keyname, cells.value);
+          }
+          return db.updateAsync(table, keyname, values);
+        })
+        .whenComplete((status, ex) -> {
+          long en = System.nanoTime();
+          measurements.measure("READ-MODIFY-WRITE", en - st);
+          measurements.measureIntended("READ-MODIFY-WRITE", en - ist);
+        });
+  }
+
   public void doTransactionScan(DB db) {
+    doTransactionScan(db, sharedstate);
+  }
+
+  private void doTransactionScan(DB db, ThreadState state) {
     // choose a random key
-    long keynum = nextKeynum();
+    long keynum = nextKeynum(state);
 
-    ByteIterator startkeyname = buildKeyName(keynum);
+    ByteIterator startkeyname = buildLookupKeyName(keynum, state);
 
     // choose a random scan length
-    int len = scanlength.nextValue().intValue();
+    int len = state.scanlength.nextValue().intValue();
 
-    HashSet<ByteIterator> fields = null;
+    HashSet<ByteIterator> fields = buildReadFields(false, state);
 
-    if (!readallfields) {
-      // read a random field
-      ByteIterator fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
+    db.scan(table, startkeyname, len, fields, new Vector<HashMap<ByteIterator, ByteIterator>>());
+  }
 
-      fields = new HashSet<ByteIterator>();
-      fields.add(fieldname);
-    }
+  public CompletionStage<Status> doTransactionScanAsync(AsyncDB db) {
+    return doTransactionScanAsync(db, sharedstate);
+  }
 
-    db.scan(table, startkeyname, len, fields, new Vector<HashMap<ByteIterator, ByteIterator>>());
+  private CompletionStage<Status> doTransactionScanAsync(AsyncDB db, ThreadState state) {
+    // choose a random key
+    long keynum = nextKeynum(state);
+
+    ByteIterator startkeyname = buildKeyName(keynum);
+
+    // choose a random scan length
+    int len = state.scanlength.nextValue().intValue();
+
+    HashSet<ByteIterator> fields = buildReadFields(false, state);
+
+    return db.scanAsync(table, startkeyname, len, fields, new Vector<HashMap<ByteIterator, ByteIterator>>());
   }
 
   public void doTransactionUpdate(DB db) {
+    doTransactionUpdate(db, sharedstate);
+  }
+
+  private void doTransactionUpdate(DB db, ThreadState state) {
     // choose a random key
-    long keynum = nextKeynum();
+    long keynum = nextKeynum(state);
 
-    ByteIterator keyname = buildKeyName(keynum);
+    ByteIterator keyname = buildLookupKeyName(keynum, state);
 
-    HashMap<ByteIterator, ByteIterator> values;
-
-    if (writeallfields) {
-      // new data for all the fields
-      values = buildValues(keyname);
-    } else {
-      // update a random field
-      values = buildSingleValue(keyname);
-    }
+    ArrayRecord values = buildUpdateValues(keyname, state);
 
     db.update(table, keyname, values);
   }
 
+  public CompletionStage<Status> doTransactionUpdateAsync(AsyncDB db) {
+    return doTransactionUpdateAsync(db, sharedstate);
+  }
+
+  private CompletionStage<Status> doTransactionUpdateAsync(AsyncDB db, ThreadState state) {
+    // choose a random key
+    long keynum = nextKeynum(state);
+
+    ByteIterator keyname = buildKeyName(keynum);
+
+    ArrayRecord values = buildUpdateValues(keyname, state);
+
+    return db.updateAsync(table, keyname, values);
+  }
+
   public void doTransactionInsert(DB db) {
+    doTransactionInsert(db, sharedstate);
+  }
+
+  private void doTransactionInsert(DB db, ThreadState state) {
     // choose the next key
     long keynum = transactioninsertkeysequence.nextValue();
 
     try {
       ByteIterator dbkey = buildKeyName(keynum, offheap, pcj);
 
-      HashMap<ByteIterator, ByteIterator> values = buildValues(dbkey);
+      ArrayRecord values = buildValues(dbkey, state);
       db.insert(table, dbkey, values);
     } finally {
       transactioninsertkeysequence.acknowledge(keynum);
     }
   }
 
+  public CompletionStage<Status> doTransactionInsertAsync(AsyncDB db) {
+    return doTransactionInsertAsync(db, sharedstate);
+  }
+
+  private CompletionStage<Status> doTransactionInsertAsync(AsyncDB db, ThreadState state) {
+    // choose the next key
+    long keynum = transactioninsertkeysequence.nextValue();
+
+    CompletionStage<Status> stage;
+    try {
+      ByteIterator dbkey = buildKeyName(keynum, offheap, pcj);
+
+      ArrayRecord values = buildValues(dbkey, state);
+      stage = db.insertAsync(table, dbkey, values);
+    } catch (RuntimeException e) {
+      transactioninsertkeysequence.acknowledge(keynum);
+      throw e;
+    }
+    // the key may only be handed out to readers once the insertion completed
+    return stage.whenComplete((status, ex) -> transactioninsertkeysequence.acknowledge(keynum));
+  }
+
+  private void doTransactionMultiRead(DB db, ThreadState state) {
+    // choose batchsize random keys
+    List<ByteIterator> keynames = new ArrayList<>(batchsize);
+    for (int i = 0; i < batchsize; i++) {
+      keynames.add(buildKeyName(nextKeynum(state)));
+    }
+
+    HashSet<ByteIterator> fields = buildReadFields(dataintegrity, state);
+
+    db.multiRead(table, keynames, fields, new ArrayList<Map<ByteIterator, ByteIterator>>(batchsize));
+  }
+
+  private void doTransactionMultiUpdate(DB db, ThreadState state) {
+    List<ByteIterator> keynames = new ArrayList<>(batchsize);
+    List<Map<ByteIterator, ByteIterator>> values = new ArrayList<>(batchsize);
+    for (int i = 0; i < batchsize; i++) {
+      ByteIterator keyname = buildKeyName(nextKeynum(state));
+      keynames.add(keyname);
+      values.add(buildUpdateValues(keyname, state));
+    }
+
+    db.multiUpdate(table, keynames, values);
+  }
+
+  private void doTransactionMultiInsert(DB db, ThreadState state) {
+    long[] keynums = new long[batchsize];
+    int claimed = 0;
+    try {
+      List<ByteIterator> dbkeys = new ArrayList<>(batchsize);
+      List<Map<ByteIterator, ByteIterator>> values = new ArrayList<>(batchsize);
+      while (claimed < batchsize) {
+        // choose the next key
+        keynums[claimed] = transactioninsertkeysequence.nextValue();
+        ByteIterator dbkey = buildKeyName(keynums[claimed++], offheap, pcj);
+        dbkeys.add(dbkey);
+        values.add(buildValues(dbkey, state));
+      }
+      db.multiInsert(table, dbkeys, values);
+    } finally {
+      for (int i = 0; i < claimed; i++) {
+        transactioninsertkeysequence.acknowledge(keynums[i]);
+      }
+    }
+  }
+
   /**
    * Creates a weighted discrete values with database operations for a workload to perform.
    * Weights/proportions are read from the properties list and defaults are used
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+/**
+ * The layout of the trace files written by {@link TraceRecordingWorkload} and read by
+ * {@link TraceReplayWorkload}.
+ *
+ * A trace is a header, the magic number (8 bytes) and whether the keys were inserted in order (1 byte), followed
+ * by fixed-size records, one per operation in the order the client threads issued them, in the native byte order:
+ * <ul>
+ * <li>the operation, as the ordinal of a {@link site.ycsb.Workload.Operation} (1 byte)
+ * <li>the index of the field read or written, or -1 for all of them (4 bytes)
+ * <li>the length of the values written, or the number of records scanned (4 bytes)
+ * <li>the number of the key, as in its name, i.e. hashed unless the keys were inserted in order (8 bytes)
+ * <li>the intended start time of the operation, in ns since the start of the recording (8 bytes)
+ * <li>the sequence number of the operation among those of all the client threads (8 bytes)
+ * </ul>
+ */
+final class TraceFormat {
+  static final long MAGIC = 0x5943534254524333L; // "YCSBTRC3"
+  static final int ORDERED_OFFSET = 8;
+  static final int HEADER_SIZE = 9;
+  static final int RECORD_SIZE = 33;
+
+  static final int OPERATION_OFFSET = 0;
+  static final int FIELD_OFFSET = 1;
+  static final int LENGTH_OFFSET = 5;
+  static final int KEY_OFFSET = 9;
+  static final int TIME_OFFSET = 17;
+  static final int SEQUENCE_OFFSET = 25;
+
+  private TraceFormat() {
+    // not used
+  }
+
+  /**
+   * The number at the end of a key or field name such as "user1234" or "field3", which may be any long, as the
+   * hashed keys are.
+   *
+   * @throws IllegalArgumentException if the name does not end with a long.
+   */
+  static long trailingNumber(String name) {
+    int start = name.length();
+    while (start > 0 && Character.isDigit(name.charAt(start - 1))) {
+      start--;
+    }
+    if (start > 0 && start < name.length() && name.charAt(start - 1) == '-') {
+      start--;
+    }
+    try {
+      return Long.parseLong(name.substring(start));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("No number at the end of \"" + name + "\"", e);
+    }
+  }
+}
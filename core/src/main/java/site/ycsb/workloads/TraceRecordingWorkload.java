@@ -0,0 +1,355 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.Workload;
+import site.ycsb.WorkloadException;
+import site.ycsb.measurements.Measurements;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.ws.Holder;
+
+/**
+ * A workload recording the operations of another workload to a trace file, to be replayed later by
+ * {@link TraceReplayWorkload}.
+ *
+ * Properties to control the recording:
+ * <UL>
+ * <LI><b>trace.file</b>: the file to write the trace to (default: ycsb.trace)
+ * <LI><b>trace.workload</b>: the workload to record (default: site.ycsb.workloads.CoreWorkload)
+ * </ul>
+ *
+ * Each operation the recorded workload issues to the DB is written as one fixed-size record, see
+ * {@link TraceFormat}. Keys and fields are recorded by the number their name ends with, so the recorded workload
+ * is expected to name them as CoreWorkload does; the recording fails on any other name. The number of a key is
+ * the one of its name, hashed unless insertorder is "ordered", which the trace records too. The operations of
+ * the load phase are not recorded, since the replay loads the records as CoreWorkload does.
+ *
+ * Each client thread buffers its operations, numbered in the order all the threads issue them, and writes them
+ * by chunks to a temporary file next to the trace. The chunks are merged back in that order into the trace
+ * at the end of the run.
+ */
+public class TraceRecordingWorkload extends Workload {
+  /**
+   * The name of the property for the trace file.
+   */
+  public static final String TRACE_FILE_PROPERTY = "trace.file";
+
+  /**
+   * Default trace file.
+   */
+  public static final String TRACE_FILE_PROPERTY_DEFAULT = "ycsb.trace";
+
+  /**
+   * The name of the property for the class of the recorded workload.
+   */
+  public static final String RECORDED_WORKLOAD_PROPERTY = "trace.workload";
+
+  /**
+   * Default recorded workload.
+   */
+  public static final String RECORDED_WORKLOAD_PROPERTY_DEFAULT = CoreWorkload.class.getName();
+
+  private static final int BUFFERED_RECORDS = 4096;
+
+  // the number of records in each mapped segment of the chunks, which may be larger than a mapping
+  private static final int SEGMENT_RECORDS = Integer.MAX_VALUE / TraceFormat.RECORD_SIZE;
+
+  private final List<RecordingDB> recorders = new ArrayList<>();
+  private final AtomicLong sequence = new AtomicLong(0);
+  // the first record and the number of records of each chunk written, guarded by the channel
+  private final List<long[]> chunks = new ArrayList<>();
+  private Workload workload;
+  private Path file;
+  private Path chunkfile;
+  private FileChannel channel;
+  private long records;
+  private boolean ordered;
+  private long originNs;
+
+  /**
+   * The state of one client thread: the state of the recorded workload and the recorder of its DB.
+   */
+  private static final class ThreadState {
+    private final Object workloadstate;
+    private RecordingDB recorder;
+
+    private ThreadState(Object workloadstate) {
+      this.workloadstate = workloadstate;
+    }
+  }
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    String workloadclass = p.getProperty(RECORDED_WORKLOAD_PROPERTY, RECORDED_WORKLOAD_PROPERTY_DEFAULT);
+    try {
+      workload = (Workload) TraceRecordingWorkload.class.getClassLoader().loadClass(workloadclass).newInstance();
+    } catch (Exception e) {
+      throw new WorkloadException("Could not create the recorded workload " + workloadclass, e);
+    }
+    workload.init(p);
+
+    file = Paths.get(p.getProperty(TRACE_FILE_PROPERTY, TRACE_FILE_PROPERTY_DEFAULT));
+    chunkfile = Paths.get(file + ".chunks");
+    try {
+      channel = FileChannel.open(chunkfile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException e) {
+      throw new WorkloadException("Could not create the trace file " + chunkfile, e);
+    }
+    ordered = isOrdered(p);
+    originNs = System.nanoTime();
+  }
+
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    return new ThreadState(workload.initThread(p, mythreadid, threadcount));
+  }
+
+  @Override
+  public void initPhase(Properties p) throws WorkloadException {
+    workload.initPhase(p);
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    ThreadState state = (ThreadState) threadstate;
+    return workload.doInsert(db, state.workloadstate);
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    ThreadState state = (ThreadState) threadstate;
+    return workload.doTransaction(recorder(db, state), state.workloadstate);
+  }
+
+  @Override
+  public void requestStop() {
+    super.requestStop();
+    workload.requestStop();
+  }
+
+  /**
+   * Write the operations still buffered, and merge the chunks into the trace.
+   */
+  @Override
+  public void cleanup() throws WorkloadException {
+    try {
+      synchronized (recorders) {
+        for (RecordingDB recorder : recorders) {
+          recorder.flush();
+        }
+      }
+      merge();
+      channel.close();
+      Files.delete(chunkfile);
+    } catch (IOException e) {
+      throw new WorkloadException("Could not write the trace " + file, e);
+    }
+    workload.cleanup();
+  }
+
+  /**
+   * Whether the keys are inserted in order, and so named after their number rather than its hash.
+   */
+  static boolean isOrdered(Properties p) {
+    return p.getProperty(CoreWorkload.INSERT_ORDER_PROPERTY, CoreWorkload.INSERT_ORDER_PROPERTY_DEFAULT)
+        .compareTo("hashed") != 0;
+  }
+
+  private RecordingDB recorder(DB db, ThreadState state) {
+    if (state.recorder == null || state.recorder.db != db) {
+      state.recorder = new RecordingDB(db);
+      synchronized (recorders) {
+        recorders.add(state.recorder);
+      }
+    }
+    return state.recorder;
+  }
+
+  private void write(ByteBuffer buffer) throws IOException {
+    // a whole buffer of records is written at once, so that the records of the threads do not interleave
+    synchronized (channel) {
+      int count = buffer.remaining() / TraceFormat.RECORD_SIZE;
+      chunks.add(new long[] {records, count});
+      records += count;
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Write the trace, merging the chunks by sequence number, each of them being in order already.
+   */
+  private void merge() throws IOException {
+    MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((records + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS)];
+    for (int i = 0; i < segments.length; i++) {
+      long first = (long) i * SEGMENT_RECORDS;
+      long size = Math.min(SEGMENT_RECORDS, records - first) * TraceFormat.RECORD_SIZE;
+      segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, first * TraceFormat.RECORD_SIZE, size);
+      segments[i].order(ByteOrder.nativeOrder());
+    }
+    // the next record and the end of each chunk left, by the sequence number of its next record
+    PriorityQueue<long[]> pending = new PriorityQueue<>(Math.max(1, chunks.size()),
+        (a, b) -> Long.compare(sequence(segments, a[0]), sequence(segments, b[0])));
+    for (long[] chunk : chunks) {
+      pending.add(new long[] {chunk[0], chunk[0] + chunk[1]});
+    }
+
+    try (FileChannel trace = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer =
+          ByteBuffer.allocate(BUFFERED_RECORDS * TraceFormat.RECORD_SIZE).order(ByteOrder.nativeOrder());
+      buffer.putLong(TraceFormat.MAGIC);
+      buffer.put((byte) (ordered ? 1 : 0));
+      while (!pending.isEmpty()) {
+        long[] chunk = pending.poll();
+        if (buffer.remaining() < TraceFormat.RECORD_SIZE) {
+          drain(trace, buffer);
+        }
+        MappedByteBuffer segment = segments[(int) (chunk[0] / SEGMENT_RECORDS)];
+        int position = (int) (chunk[0] % SEGMENT_RECORDS) * TraceFormat.RECORD_SIZE;
+        for (int i = 0; i < TraceFormat.RECORD_SIZE; i++) {
+          buffer.put(segment.get(position + i));
+        }
+        if (++chunk[0] < chunk[1]) {
+          pending.add(chunk);
+        }
+      }
+      drain(trace, buffer);
+    }
+  }
+
+  private static long sequence(MappedByteBuffer[] segments, long index) {
+    return segments[(int) (index / SEGMENT_RECORDS)]
+        .getLong((int) (index % SEGMENT_RECORDS) * TraceFormat.RECORD_SIZE + TraceFormat.SEQUENCE_OFFSET);
+  }
+
+  private static void drain(FileChannel trace, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      trace.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * A DB recording the operations of one client thread before forwarding them.
+   */
+  private final class RecordingDB extends DB {
+    private final DB db;
+    private final ByteBuffer buffer =
+        ByteBuffer.allocate(BUFFERED_RECORDS * TraceFormat.RECORD_SIZE).order(ByteOrder.nativeOrder());
+    private final Measurements measurements = Measurements.getMeasurements();
+
+    private RecordingDB(DB db) {
+      this.db = db;
+    }
+
+    @Override
+    public Status read(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                       Holder<Map<ByteIterator, ByteIterator>> result) {
+      record(Operation.READ, key, fields, 0);
+      return db.read(table, key, fields, result);
+    }
+
+    @Override
+    public Status scan(ByteIterator table, ByteIterator startkey, int recordcount, Set<ByteIterator> fields,
+                       Vector<HashMap<ByteIterator, ByteIterator>> result) {
+      record(Operation.SCAN, startkey, fields, recordcount);
+      return db.scan(table, startkey, recordcount, fields, result);
+    }
+
+    @Override
+    public Status update(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+      record(Operation.UPDATE, key, values.keySet(), valueLength(values.values()));
+      return db.update(table, key, values);
+    }
+
+    @Override
+    public Status insert(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+      record(Operation.INSERT, key, values.keySet(), valueLength(values.values()));
+      return db.insert(table, key, values);
+    }
+
+    @Override
+    public Status delete(ByteIterator table, ByteIterator key) {
+      record(Operation.DELETE, key, null, 0);
+      return db.delete(table, key);
+    }
+
+    private void record(Operation operation, ByteIterator key, Collection<ByteIterator> fields, long length) {
+      long intendedNs = measurements.getIntendedtartTimeNs();
+      if (intendedNs == 0) {
+        intendedNs = System.nanoTime();
+      }
+      int field = -1;
+      if (fields != null && fields.size() == 1) {
+        field = (int) TraceFormat.trailingNumber(fields.iterator().next().toString());
+      }
+      long keynum = TraceFormat.trailingNumber(key.toString());
+      if (buffer.remaining() < TraceFormat.RECORD_SIZE) {
+        flush();
+      }
+      buffer.put((byte) operation.ordinal());
+      buffer.putInt(field);
+      buffer.putInt((int) length);
+      buffer.putLong(keynum);
+      buffer.putLong(intendedNs - originNs);
+      buffer.putLong(sequence.getAndIncrement());
+    }
+
+    private long valueLength(Collection<ByteIterator> values) {
+      // one length is recorded per operation, the one of its first value
+      return values.isEmpty() ? 0 : values.iterator().next().bytesLeft();
+    }
+
+    private void flush() {
+      buffer.flip();
+      try {
+        write(buffer);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to write the trace", e);
+      }
+      buffer.clear();
+    }
+  }
+}
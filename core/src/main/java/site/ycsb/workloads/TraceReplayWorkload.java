@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.AsyncDB;
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.WorkloadException;
+import site.ycsb.measurements.Measurements;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A workload replaying the operations recorded by {@link TraceRecordingWorkload}.
+ *
+ * The trace file is memory-mapped, and the client threads replay its operations in order, each taking
+ * the next one when it becomes idle, until the trace is over. Keys, field names and values are built as
+ * CoreWorkload builds them, from the same properties as the recorded run; values are random, of the
+ * recorded length. The load phase is CoreWorkload's, with the insertorder of the recorded run, which the trace
+ * must have been recorded with.
+ *
+ * Properties to control the replay:
+ * <UL>
+ * <LI><b>trace.file</b>: the trace to replay (default: ycsb.trace)
+ * <LI><b>trace.replay.speed</b>: replay the operations at their recorded time divided by this factor, e.g.
+ * 1 for the original timing or 2 for twice as fast, or as fast as possible if 0 (default: 0). The recorded
+ * time is then the intended start time of the operation.
+ * </ul>
+ */
+public class TraceReplayWorkload extends CoreWorkload {
+  /**
+   * The name of the property for the replay speed.
+   */
+  public static final String REPLAY_SPEED_PROPERTY = "trace.replay.speed";
+
+  /**
+   * Default replay speed.
+   */
+  public static final String REPLAY_SPEED_PROPERTY_DEFAULT = "0";
+
+  private static final long NOT_STARTED = Long.MIN_VALUE;
+
+  // the number of records in each mapped segment of the trace, which may be larger than a mapping
+  private static final int SEGMENT_RECORDS = Integer.MAX_VALUE / TraceFormat.RECORD_SIZE;
+
+  private final Measurements measurements = Measurements.getMeasurements();
+  private final AtomicLong next = new AtomicLong(0);
+  private final AtomicLong origin = new AtomicLong(NOT_STARTED);
+  private MappedByteBuffer[] segments;
+  private long records;
+  private double speed;
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    super.init(p);
+    speed = Double.parseDouble(p.getProperty(REPLAY_SPEED_PROPERTY, REPLAY_SPEED_PROPERTY_DEFAULT));
+
+    String file = p.getProperty(TraceRecordingWorkload.TRACE_FILE_PROPERTY,
+        TraceRecordingWorkload.TRACE_FILE_PROPERTY_DEFAULT);
+    try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+      records = (channel.size() - TraceFormat.HEADER_SIZE) / TraceFormat.RECORD_SIZE;
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TraceFormat.HEADER_SIZE);
+      if (records < 0 || header.order(ByteOrder.nativeOrder()).getLong(0) != TraceFormat.MAGIC) {
+        throw new WorkloadException(file + " is not a trace");
+      }
+      // the keys were recorded as named, and the records loaded are named as in the recorded run
+      boolean ordered = header.get(TraceFormat.ORDERED_OFFSET) != 0;
+      if (ordered != orderedinserts) {
+        throw new WorkloadException(file + " was recorded with " + INSERT_ORDER_PROPERTY + "="
+            + (ordered ? "ordered" : "hashed") + ", not " + (orderedinserts ? "ordered" : "hashed"));
+      }
+      segments = new MappedByteBuffer[(int) ((records + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS)];
+      for (int i = 0; i < segments.length; i++) {
+        long first = (long) i * SEGMENT_RECORDS;
+        long size = Math.min(SEGMENT_RECORDS, records - first) * TraceFormat.RECORD_SIZE;
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+            TraceFormat.HEADER_SIZE + first * TraceFormat.RECORD_SIZE, size);
+        segments[i].order(ByteOrder.nativeOrder());
+      }
+    } catch (IOException e) {
+      throw new WorkloadException("Could not map the trace " + file, e);
+    }
+  }
+
+  /**
+   * Replay the next operation of the trace.
+   *
+   * @return false once the trace is over.
+   */
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    long index = next.getAndIncrement();
+    if (index >= records) {
+      return false;
+    }
+    MappedByteBuffer segment = segments[(int) (index / SEGMENT_RECORDS)];
+    int position = (int) (index % SEGMENT_RECORDS) * TraceFormat.RECORD_SIZE;
+    byte operation = segment.get(position + TraceFormat.OPERATION_OFFSET);
+    int field = segment.getInt(position + TraceFormat.FIELD_OFFSET);
+    int length = segment.getInt(position + TraceFormat.LENGTH_OFFSET);
+    long keynum = segment.getLong(position + TraceFormat.KEY_OFFSET);
+    long timeNs = segment.getLong(position + TraceFormat.TIME_OFFSET);
+
+    if (speed > 0) {
+      long intendedNs = origin() + (long) (timeNs / speed);
+      long now;
+      while ((now = System.nanoTime()) < intendedNs) {
+        LockSupport.parkNanos(intendedNs - now);
+      }
+      measurements.setIntendedStartTimeNs(intendedNs);
+    }
+
+    ByteIterator fieldname = getFieldName(field);
+    Set<ByteIterator> fields = fieldname == null ? null : Collections.singleton(fieldname);
+    switch (Operation.values()[operation]) {
+    case READ:
+      db.read(table, buildNamedKey(keynum, false), fields, buildReadResult(threadstate));
+      break;
+    case UPDATE:
+      db.update(table, buildNamedKey(keynum, false), buildValues(field, length));
+      break;
+    case INSERT:
+      db.insert(table, buildNamedKey(keynum, true), buildValues(field, length));
+      break;
+    case SCAN:
+      db.scan(table, buildNamedKey(keynum, false), length, fields, new Vector<HashMap<ByteIterator, ByteIterator>>());
+      break;
+    default:
+      db.delete(table, buildNamedKey(keynum, false));
+    }
+    return true;
+  }
+
+  /**
+   * The operations are replayed one at a time.
+   */
+  @Override
+  public CompletionStage<Boolean> doTransactionAsync(AsyncDB db, Object threadstate) {
+    return CompletableFuture.completedFuture(doTransaction(db, threadstate));
+  }
+
+  private long origin() {
+    long start = origin.get();
+    if (start == NOT_STARTED) {
+      origin.compareAndSet(NOT_STARTED, System.nanoTime());
+      start = origin.get();
+    }
+    return start;
+  }
+}
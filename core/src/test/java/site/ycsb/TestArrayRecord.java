@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+import static org.testng.AssertJUnit.*;
+
+public class TestArrayRecord {
+  private final RecordSchema schema = new RecordSchema(Arrays.asList(
+      new StringByteIterator("field0"), new StringByteIterator("field1"), new StringByteIterator("field2")));
+
+  @Test
+  public void indexedAndMapAccess() {
+    ArrayRecord record = new ArrayRecord(schema);
+    assertTrue(record.isEmpty());
+
+    record.set(2, new StringByteIterator("two"));
+    assertEquals(1, record.size());
+    assertEquals("two", record.get(new StringByteIterator("field2")).toString());
+    assertNull(record.get(new StringByteIterator("field0")));
+    assertNull(record.get(new StringByteIterator("nofield")));
+
+    assertNull(record.put(new StringByteIterator("field0"), new StringByteIterator("zero")));
+    assertEquals("zero", record.get(0).toString());
+    assertTrue(record.containsKey(new StringByteIterator("field0")));
+    assertFalse(record.containsKey(new StringByteIterator("field1")));
+
+    // entries come in schema order, and only for the fields set
+    Iterator<Map.Entry<ByteIterator, ByteIterator>> it = record.entrySet().iterator();
+    assertEquals("field0", it.next().getKey().toString());
+    Map.Entry<ByteIterator, ByteIterator> last = it.next();
+    assertEquals("field2", last.getKey().toString());
+    assertFalse(it.hasNext());
+    it.remove();
+    assertEquals(1, record.size());
+    assertNull(record.get(2));
+
+    assertEquals("zero", record.remove(new StringByteIterator("field0")).toString());
+    assertTrue(record.isEmpty());
+  }
+
+  @Test
+  public void equalsHashMap() {
+    ArrayRecord record = new ArrayRecord(schema);
+    record.set(1, new StringByteIterator("one"));
+
+    Map<ByteIterator, ByteIterator> map = new HashMap<>(record);
+    assertEquals(map, record);
+    assertEquals(record, map);
+    assertEquals(map.hashCode(), record.hashCode());
+
+    ArrayRecord copy = new ArrayRecord(schema);
+    copy.putAll(map);
+    assertEquals(record, copy);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void unknownField() {
+    new ArrayRecord(schema).put(new StringByteIterator("nofield"), new StringByteIterator("value"));
+  }
+}
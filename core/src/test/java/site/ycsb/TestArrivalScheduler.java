@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class TestArrivalScheduler {
+
+  @Test
+  public void constantRate() {
+    ArrivalScheduler scheduler = new ArrivalScheduler(false, 1000, 3);
+    long first = scheduler.nextArrivalNs();
+    assertEquals(scheduler.nextArrivalNs() - first, 1000000L);
+    assertEquals(scheduler.nextArrivalNs() - first, 2000000L);
+    assertEquals(scheduler.nextArrivalNs(), -1L);
+  }
+
+  @Test
+  public void poissonMeanRate() {
+    int count = 100000;
+    ArrivalScheduler scheduler = new ArrivalScheduler(true, 1000, count);
+    long first = scheduler.nextArrivalNs();
+    long prev = first;
+    for (int i = 1; i < count; i++) {
+      long next = scheduler.nextArrivalNs();
+      assertTrue(next >= prev);
+      prev = next;
+    }
+    assertEquals(scheduler.nextArrivalNs(), -1L);
+    double meanIntervalNs = (prev - first) / (double) (count - 1);
+    assertEquals(meanIntervalNs, 1000000.0, 20000.0);
+  }
+}
@@ -17,6 +17,9 @@
 
 package site.ycsb;
 
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
 import org.testng.annotations.Test;
 import static org.testng.AssertJUnit.*;
 
@@ -36,4 +39,83 @@ public class TestByteIterator {
     assertFalse(itor.hasNext());
     assertEquals(0, itor.bytesLeft());
   }
+  @Test
+  public void testKeyByteIterator() {
+    KeyByteIterator key = new KeyByteIterator("user", 8);
+    key.set(5);
+    assertEquals("user00000005", key.toString());
+    assertEquals(new StringByteIterator("user00000005"), key);
+    assertEquals(key, new StringByteIterator("user00000005"));
+    assertEquals("user00000005".hashCode(), key.hashCode());
+    assertEquals(12, key.toArray().length);
+    assertFalse(key.hasNext());
+
+    key.set(Long.MAX_VALUE);
+    assertEquals("user" + Long.MAX_VALUE, key.toString());
+    assertEquals(("user" + Long.MAX_VALUE).hashCode(), key.hashCode());
+    key.set(-42);
+    assertEquals("user00000-42", key.toString());
+  }
+  @Test
+  public void testCompressibleByteIterator() {
+    int size = 10000;
+    ByteIterator itor = new CompressibleByteIterator(size, 0.25, null);
+    assertEquals(size, itor.bytesLeft());
+    byte[] bytes = itor.toArray();
+    assertEquals(size, bytes.length);
+    assertFalse(itor.hasNext());
+
+    Deflater deflater = new Deflater();
+    deflater.setInput(bytes);
+    deflater.finish();
+    int compressed = deflater.deflate(new byte[size]);
+    deflater.end();
+    assertTrue(compressed < size * 0.3);
+    assertTrue(compressed > size * 0.15);
+  }
+  @Test
+  public void testByteBufferByteIterator() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+    buffer.put(new byte[] {'a', 'b', 'c', 'd'});
+    buffer.flip();
+    ByteIterator itor = new ByteBufferByteIterator(buffer);
+    assertEquals(4, itor.bytesLeft());
+    assertEquals('a', itor.nextByte());
+    ByteBuffer rest = itor.asByteBuffer();
+    assertEquals(3, rest.remaining());
+    assertEquals('b', rest.get(0));
+    assertFalse(itor.hasNext());
+    assertEquals(4, buffer.remaining());
+
+    itor.reset();
+    assertEquals("abcd", itor.toString());
+
+    byte[] bytes = {'x', 'y', 'z'};
+    ByteBuffer view = new ByteArrayByteIterator(bytes, 1, 2).asByteBuffer();
+    assertEquals(2, view.remaining());
+    assertEquals('y', view.get(0));
+    bytes[2] = 'w';
+    assertEquals('w', view.get(1));
+
+    ByteIterator slice = new ByteArrayByteIterator(bytes, 1, 2);
+    assertEquals("yw", slice.toString());
+    assertEquals("yw", slice.toString());
+    assertEquals(2, slice.bytesLeft());
+    assertEquals('y', slice.nextByte());
+    assertEquals("w", slice.toString());
+    assertFalse(slice.hasNext());
+
+    slice = new ByteArrayByteIterator(bytes, 0, 3);
+    CharSequence chars = slice.asCharSequence();
+    assertEquals("xyw", chars.toString());
+    assertEquals('w', chars.charAt(2));
+    assertEquals("yw", chars.subSequence(1, 3).toString());
+    assertEquals(3, slice.bytesLeft());
+
+    ByteIterator string = new StringByteIterator("abc");
+    assertEquals("abc", string.asCharSequence());
+    string.nextByte();
+    assertEquals("bc", string.asCharSequence().toString());
+    assertEquals(2, string.bytesLeft());
+  }
 }
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.ws.Holder;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestClientThread {
+  private static final int MAX_INFLIGHT = 4;
+
+  private ScheduledExecutorService completer;
+
+  @BeforeMethod
+  public void startCompleter() {
+    completer = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterMethod
+  public void stopCompleter() {
+    completer.shutdownNow();
+  }
+
+  @Test
+  public void keepsOperationsInFlight() {
+    LateDB db = new LateDB(completer);
+    ClientThread client = runAsync(db, new AsyncWorkload(Integer.MAX_VALUE), 1000);
+    assertEquals(client.getOpsDone(), 1000);
+    assertEquals(db.issued.get(), 1000);
+    assertEquals(db.outstanding.get(), 0);
+    assertTrue(db.maxoutstanding.get() <= MAX_INFLIGHT, "at most " + MAX_INFLIGHT + " operations in flight");
+    assertTrue(db.maxoutstanding.get() > 1, "several operations in flight");
+  }
+
+  @Test
+  public void stopsOnceWorkloadIsDone() {
+    LateDB db = new LateDB(completer);
+    ClientThread client = runAsync(db, new AsyncWorkload(100), 1000);
+    // the operations issued after the first one not done are not counted
+    assertEquals(client.getOpsDone(), 100);
+    assertTrue(db.issued.get() < 1000, "stopped issuing operations");
+    assertEquals(db.outstanding.get(), 0);
+    assertTrue(db.maxoutstanding.get() <= MAX_INFLIGHT, "at most " + MAX_INFLIGHT + " operations in flight");
+  }
+
+  private ClientThread runAsync(AsyncDB db, Workload workload, int opcount) {
+    Properties p = new Properties();
+    Measurements.setProperties(p);
+    ClientThread client = new ClientThread(db, true, workload, p, opcount, 0, new CountDownLatch(1));
+    client.setLoad(false, 0, null);
+    client.setThreadId(0);
+    client.setThreadCount(1);
+    client.setMaxInflight(MAX_INFLIGHT);
+    client.run();
+    return client;
+  }
+
+  /**
+   * A workload reading through the asynchronous DB, done after a given number of operations.
+   */
+  static class AsyncWorkload extends Workload {
+    private final int done;
+    private final AtomicInteger issued = new AtomicInteger();
+
+    AsyncWorkload(int done) {
+      this.done = done;
+    }
+
+    @Override
+    public CompletionStage<Boolean> doTransactionAsync(AsyncDB db, Object threadstate) {
+      int operation = issued.getAndIncrement();
+      return db.readAsync(null, null, null, new Holder<>()).thenApply(status -> operation < done);
+    }
+
+    @Override
+    public boolean doInsert(DB db, Object threadstate) {
+      return true;
+    }
+
+    @Override
+    public boolean doTransaction(DB db, Object threadstate) {
+      return true;
+    }
+  }
+
+  /**
+   * An asynchronous DB completing each operation a little after it was issued, on another thread.
+   */
+  static class LateDB extends AsyncDB {
+    private final ScheduledExecutorService completer;
+    final AtomicInteger issued = new AtomicInteger();
+    final AtomicInteger outstanding = new AtomicInteger();
+    final AtomicInteger maxoutstanding = new AtomicInteger();
+
+    LateDB(ScheduledExecutorService completer) {
+      this.completer = completer;
+    }
+
+    private CompletionStage<Status> complete() {
+      issued.incrementAndGet();
+      int current = outstanding.incrementAndGet();
+      maxoutstanding.accumulateAndGet(current, Math::max);
+      CompletableFuture<Status> stage = new CompletableFuture<>();
+      completer.schedule(() -> {
+        outstanding.decrementAndGet();
+        stage.complete(Status.OK);
+      }, 50, TimeUnit.MICROSECONDS);
+      return stage;
+    }
+
+    @Override
+    public CompletionStage<Status> readAsync(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                                             Holder<Map<ByteIterator, ByteIterator>> result) {
+      return complete();
+    }
+
+    @Override
+    public CompletionStage<Status> scanAsync(ByteIterator table, ByteIterator startkey, int recordcount,
+                                             Set<ByteIterator> fields,
+                                             Vector<HashMap<ByteIterator, ByteIterator>> result) {
+      return complete();
+    }
+
+    @Override
+    public CompletionStage<Status> updateAsync(ByteIterator table, ByteIterator key,
+                                               Map<ByteIterator, ByteIterator> values) {
+      return complete();
+    }
+
+    @Override
+    public CompletionStage<Status> insertAsync(ByteIterator table, ByteIterator key,
+                                               Map<ByteIterator, ByteIterator> values) {
+      return complete();
+    }
+
+    @Override
+    public CompletionStage<Status> deleteAsync(ByteIterator table, ByteIterator key) {
+      return complete();
+    }
+  }
+}
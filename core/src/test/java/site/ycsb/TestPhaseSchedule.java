@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+public class TestPhaseSchedule {
+
+  @Test
+  public void appliesPhaseOverrides() throws Exception {
+    Properties p = getProperties();
+    p.setProperty(PhaseSchedule.PHASES_PROPERTY, "steady, burst");
+    p.setProperty("phase.steady.operationcount", "100");
+    p.setProperty("phase.burst.duration", "60");
+    p.setProperty("phase.burst.target", "500");
+    p.setProperty("phase.burst.updateproportion", "0.9");
+    PhaseWorkload workload = new PhaseWorkload();
+    PhaseSchedule schedule = PhaseSchedule.create(p, workload, 1);
+    assertFalse(schedule.hasWarmup());
+    assertEquals(schedule.getOperationCount(), 100);
+
+    PhaseSchedule.Phase steady = schedule.await();
+    assertEquals(steady.getName(), "steady");
+    assertTrue(steady.hasOperationCount());
+    assertEquals(steady.getOperationCount(0, 3), 34);
+    assertEquals(steady.getOperationCount(2, 3), 33);
+    assertEquals(steady.getProperties().getProperty("operationcount"), "100");
+    assertEquals(steady.getProperties().getProperty("updateproportion"), "0.5");
+    assertEquals(steady.getTargetPerThreadPerMs(1), 0.1);
+    assertEquals(schedule.getDeadlineNs(), 0);
+
+    PhaseSchedule.Phase burst = schedule.await();
+    assertEquals(burst.getName(), "burst");
+    assertFalse(burst.hasOperationCount());
+    assertEquals(burst.getProperties().getProperty("updateproportion"), "0.9");
+    assertEquals(burst.getProperties().getProperty("duration"), "60");
+    assertEquals(burst.getTargetPerThreadPerMs(2), 0.25);
+    assertTrue(schedule.getDeadlineNs() > System.nanoTime());
+    // the properties of the run are left as they are
+    assertEquals(p.getProperty("updateproportion"), "0.5");
+
+    assertNull(schedule.await());
+    assertEquals(workload.phases.size(), 2);
+    assertEquals(workload.phases.get(1).getProperty("updateproportion"), "0.9");
+  }
+
+  @Test (expectedExceptions = WorkloadException.class)
+  public void rejectsUnboundedPhase() throws Exception {
+    Properties p = getProperties();
+    p.setProperty(PhaseSchedule.PHASES_PROPERTY, "steady");
+    p.setProperty("phase.steady.target", "100");
+    PhaseSchedule.create(p, new PhaseWorkload(), 1);
+  }
+
+  @Test
+  public void noScheduleByDefault() throws Exception {
+    assertNull(PhaseSchedule.create(getProperties(), new PhaseWorkload(), 1));
+  }
+
+  @Test
+  public void runsUntaggedAfterWarmup() throws Exception {
+    Properties p = getProperties();
+    p.setProperty(PhaseSchedule.WARMUP_OPERATION_COUNT_PROPERTY, "10");
+    PhaseWorkload workload = new PhaseWorkload();
+    PhaseSchedule schedule = PhaseSchedule.create(p, workload, 1);
+    assertTrue(schedule.hasWarmup());
+    assertEquals(schedule.getOperationCount(), 100);
+
+    PhaseSchedule.Phase warmup = schedule.await();
+    assertEquals(warmup.getName(), "WARMUP");
+    assertEquals(warmup.getOperationCount(0, 1), 10);
+    assertEquals(schedule.getMeasuredStartMs(), 0);
+
+    PhaseSchedule.Phase run = schedule.await();
+    assertNull(run.getName());
+    assertEquals(run.getOperationCount(0, 1), 100);
+    assertTrue(schedule.getMeasuredStartMs() > 0);
+
+    assertNull(schedule.await());
+    // the warm-up and the run keep the properties of the run
+    assertTrue(workload.phases.isEmpty());
+  }
+
+  @Test
+  public void countsPhasesAfterWarmup() throws Exception {
+    Properties p = getProperties();
+    p.setProperty(PhaseSchedule.WARMUP_TIME_PROPERTY, "1");
+    p.setProperty(PhaseSchedule.WARMUP_OPERATION_COUNT_PROPERTY, "1000");
+    p.setProperty(PhaseSchedule.PHASES_PROPERTY, "first,second,third");
+    p.setProperty("phase.first.operationcount", "30");
+    p.setProperty("phase.second.duration", "5");
+    p.setProperty("phase.third.operationcount", "20");
+    p.setProperty("phase.third.duration", "5");
+    PhaseSchedule schedule = PhaseSchedule.create(p, new PhaseWorkload(), 1);
+    assertTrue(schedule.hasWarmup());
+    assertEquals(schedule.getOperationCount(), 50);
+    assertEquals(schedule.await().getName(), "WARMUP");
+    assertTrue(schedule.getDeadlineNs() > 0);
+    assertEquals(schedule.await().getName(), "first");
+  }
+
+  @Test
+  public void warmupKeepsLoadMeasurements() throws Exception {
+    Properties p = getProperties();
+    p.setProperty(PhaseSchedule.WARMUP_OPERATION_COUNT_PROPERTY, "10");
+    Measurements measurements = Measurements.getMeasurements();
+    measurements.startPhase(Measurements.LOAD_PHASE);
+    measurements.measure("INSERT", 10);
+    measurements.startPhase(null);
+    measurements.measure(Measurements.LOAD_PHASE, 1000);
+
+    PhaseSchedule schedule = PhaseSchedule.create(p, new PhaseWorkload(), 1);
+    schedule.await();
+    measurements.measure("READ", 10);
+    assertTrue(exportedNames(measurements).contains("READ"));
+    schedule.await();
+
+    Set<String> names = exportedNames(measurements);
+    assertTrue(names.contains("LOAD:INSERT"));
+    assertTrue(names.contains(Measurements.LOAD_PHASE));
+    assertFalse(names.contains("READ"));
+  }
+
+  private Properties getProperties() {
+    Properties p = new Properties();
+    p.setProperty(Client.OPERATION_COUNT_PROPERTY, "100");
+    p.setProperty(Client.TARGET_PROPERTY, "100");
+    p.setProperty("updateproportion", "0.5");
+    Measurements.setProperties(p);
+    return p;
+  }
+
+  private static Set<String> exportedNames(Measurements measurements) throws Exception {
+    Set<String> names = new HashSet<>();
+    measurements.exportMeasurements(new MeasurementsExporter() {
+      @Override
+      public void write(String metric, String measurement, int i) {
+        names.add(metric);
+      }
+
+      @Override
+      public void write(String metric, String measurement, long i) {
+        names.add(metric);
+      }
+
+      @Override
+      public void write(String metric, String measurement, double d) {
+        names.add(metric);
+      }
+
+      @Override
+      public void close() {
+      }
+    });
+    return names;
+  }
+
+  /**
+   * A workload listing the properties of the phases it is switched to.
+   */
+  static class PhaseWorkload extends Workload {
+    final List<Properties> phases = new ArrayList<>();
+
+    @Override
+    public void initPhase(Properties p) {
+      phases.add(p);
+    }
+
+    @Override
+    public boolean doInsert(DB db, Object threadstate) {
+      return true;
+    }
+
+    @Override
+    public boolean doTransaction(DB db, Object threadstate) {
+      return true;
+    }
+  }
+}
@@ -115,6 +115,17 @@ public class TestUtils {
     // Could be empty
     assertTrue(Utils.getGCStatst().size() >= 0);
   }
+
+  @Test
+  public void seededRandomStreams() throws Exception {
+    Utils.seedRandom(42);
+    long first = Utils.random().nextLong();
+    long split = Utils.splitRandom().nextLong();
+
+    Utils.seedRandom(42);
+    assertEquals(Utils.random().nextLong(), first);
+    assertEquals(Utils.splitRandom().nextLong(), split);
+  }
    
   /**
    * Since this version of TestNG doesn't appear to have an assertArrayEquals,
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class TestDiscreteGenerator {
+  @Test
+  public void drawsValuesInProportion() {
+    DiscreteGenerator generator = new DiscreteGenerator();
+    generator.addValue(0.5, "A");
+    generator.addValue(0, "B");
+    generator.addValue(0.3, "C");
+    generator.addValue(0.2, "D");
+    assertEquals(generator.size(), 4);
+    assertEquals(generator.getValue(2), "C");
+
+    int draws = 100000;
+    int[] counts = new int[generator.size()];
+    for (int i = 0; i < draws; i++) {
+      counts[generator.nextIndex()]++;
+    }
+    assertEquals(counts[0] / (double) draws, 0.5, 0.01);
+    assertEquals(counts[1], 0);
+    assertEquals(counts[2] / (double) draws, 0.3, 0.01);
+    assertEquals(counts[3] / (double) draws, 0.2, 0.01);
+  }
+
+  @Test
+  public void noValueToChooseFrom() {
+    DiscreteGenerator generator = new DiscreteGenerator();
+    assertEquals(generator.nextIndex(), -1);
+    generator.addValue(0, "A");
+    assertEquals(generator.nextIndex(), -1);
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb.generator;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestZetaCache {
+  @AfterMethod
+  public void reset() {
+    // drops the values read from the files of the tests too
+    ZetaCache.configure(false, null);
+  }
+
+  @Test
+  public void approximatesExactValues() {
+    for (double theta : new double[] {0.5, 0.99, 1.0, 1.5}) {
+      for (long n : new long[] {1, 1000, 1001, 5000000}) {
+        double exact = ZetaCache.sum(0, n, theta, 0);
+        assertEquals(ZetaCache.approximate(n, theta), exact, exact * 1e-12, "n=" + n + " theta=" + theta);
+        assertTrue(ZetaCache.approximationError(n, theta) < 1e-15);
+      }
+    }
+    assertEquals(ZetaCache.approximate(ScrambledZipfianGenerator.ITEM_COUNT, ZipfianGenerator.ZIPFIAN_CONSTANT),
+        ScrambledZipfianGenerator.ZETAN, 1e-9);
+  }
+
+  @Test
+  public void sumsInParallelAsSerially() {
+    double serial = 0;
+    for (long i = 0; i < 5000000; i++) {
+      serial += 1 / Math.pow(i + 1, 0.99);
+    }
+    assertEquals(ZetaCache.sum(0, 5000000, 0.99, 0), serial, serial * 1e-12);
+    assertEquals(ZetaCache.sum(3000000, 5000000, 0.99, ZetaCache.sum(0, 3000000, 0.99, 0)), serial, serial * 1e-12);
+  }
+
+  @Test
+  public void keepsExactValuesInFile() throws Exception {
+    File file = File.createTempFile("zeta", ".properties");
+    try {
+      Properties values = new Properties();
+      values.setProperty("2000,0.75", "42.0");
+      try (OutputStream out = new FileOutputStream(file)) {
+        values.store(out, null);
+      }
+      ZetaCache.configure(false, file.getPath());
+      assertEquals(ZetaCache.zeta(2000, 0.75), 42.0);
+
+      double zeta = ZetaCache.zeta(3000, 0.75);
+      assertEquals(zeta, ZetaCache.sum(0, 3000, 0.75, 0));
+      values = new Properties();
+      try (InputStream in = new FileInputStream(file)) {
+        values.load(in);
+      }
+      assertEquals(values.getProperty("2000,0.75"), "42.0");
+      assertEquals(Double.parseDouble(values.getProperty("3000,0.75")), zeta);
+
+      ZetaCache.configure(true, null);
+      assertEquals(ZetaCache.zeta(2000, 0.75), ZetaCache.approximate(2000, 0.75));
+      ZetaCache.configure(false, null);
+      assertEquals(ZetaCache.zeta(2000, 0.75), ZetaCache.sum(0, 2000, 0.75, 0));
+    } finally {
+      file.delete();
+    }
+  }
+}
@@ -19,6 +19,7 @@ package site.ycsb.generator;
 
 import org.testng.annotations.Test;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 
 
@@ -36,4 +37,24 @@ public class TestZipfianGenerator {
         }
 
     }
+
+    @Test
+    public void testGrowingItemCount() throws InterruptedException {
+        ZipfianGenerator zipfian = new ZipfianGenerator(1000);
+        ZipfianGenerator copy = new ZipfianGenerator(zipfian);
+        assertEquals(zipfian.zetan(), ZipfianGenerator.zetastatic(1000, ZipfianGenerator.ZIPFIAN_CONSTANT));
+
+        for (long itemcount = 1001; itemcount <= 5000; itemcount++) {
+            long rnd = copy.nextLong(itemcount);
+            assertFalse(rnd < 0);
+            assertFalse(rnd > itemcount);
+        }
+        // the constants are extended in the background, once for both generators
+        double expected = ZipfianGenerator.zetastatic(5000, ZipfianGenerator.ZIPFIAN_CONSTANT);
+        for (int i = 0; i < 1000 && Math.abs(zipfian.zetan() - expected) > 1e-9; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(zipfian.zetan(), expected, 1e-9);
+        assertEquals(copy.zetan(), expected, 1e-9);
+    }
 }
@@ -16,13 +16,29 @@
  */
 package site.ycsb.workloads;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+
+import javax.xml.ws.Holder;
 
 import org.testng.annotations.Test;
 
+import site.ycsb.ByteArrayByteIterator;
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.StringByteIterator;
 import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.measurements.Measurements;
 
 public class TestCoreWorkload {
 
@@ -67,4 +83,78 @@ public class TestCoreWorkload {
   public void createOperationChooserNullProperties() {
     CoreWorkload.createOperationGenerator(null);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void verifiesHashedValues() throws Exception {
+    final Properties p = new Properties();
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "10");
+    p.setProperty(CoreWorkload.FIELD_COUNT_PROPERTY, "3");
+    p.setProperty(CoreWorkload.FIELD_LENGTH_PROPERTY, "100");
+    p.setProperty(CoreWorkload.DATA_INTEGRITY_PROPERTY, "true");
+    p.setProperty(CoreWorkload.DATA_INTEGRITY_MODE_PROPERTY, "hash");
+    Measurements.setProperties(p);
+    final CoreWorkload workload = new CoreWorkload();
+    workload.init(p);
+    final InsertDB db = new InsertDB();
+    assertTrue(workload.doInsert(db, workload.initThread(p, 0, 1)));
+    assertEquals(db.values.size(), 3);
+
+    final ByteIterator otherkey = new StringByteIterator(db.key.toString() + "0");
+    for (int field = 0; field < 3; field++) {
+      final String value = db.values.get("field" + field);
+      assertEquals(value.length(), 100);
+      assertTrue(CoreWorkload.isHashedValue(db.key, field, value));
+      final byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+      assertTrue(CoreWorkload.isHashedValue(db.key, field, new ByteArrayByteIterator(bytes).asCharSequence()));
+
+      assertFalse(CoreWorkload.isHashedValue(otherkey, field, value));
+      assertFalse(CoreWorkload.isHashedValue(db.key, (field + 1) % 3, value));
+      // a corrupted byte of the version, or of the rest of the value
+      for (int pos : new int[] {3, 50, 99}) {
+        final char[] corrupted = value.toCharArray();
+        corrupted[pos] = corrupted[pos] == '0' ? '1' : '0';
+        assertFalse(CoreWorkload.isHashedValue(db.key, field, new String(corrupted)));
+      }
+    }
+  }
+
+  /**
+   * A DB keeping the key and values of the last record inserted.
+   */
+  static class InsertDB extends DB {
+    private ByteIterator key;
+    private final Map<String, String> values = new HashMap<>();
+
+    @Override
+    public Status read(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                       Holder<Map<ByteIterator, ByteIterator>> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(ByteIterator table, ByteIterator startkey, int recordcount, Set<ByteIterator> fields,
+                       Vector<HashMap<ByteIterator, ByteIterator>> result) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+      this.key = new StringByteIterator(key.toString());
+      this.values.clear();
+      for (Map.Entry<ByteIterator, ByteIterator> entry : values.entrySet()) {
+        this.values.put(entry.getKey().toString(), entry.getValue().toString());
+      }
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(ByteIterator table, ByteIterator key) {
+      return Status.OK;
+    }
+  }
+}
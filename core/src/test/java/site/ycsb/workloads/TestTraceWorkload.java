@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CyclicBarrier;
+
+import javax.xml.ws.Holder;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.Status;
+import site.ycsb.WorkloadException;
+import site.ycsb.measurements.Measurements;
+
+public class TestTraceWorkload {
+  private File trace;
+
+  @BeforeMethod
+  public void createTrace() throws Exception {
+    trace = File.createTempFile("ycsb", ".trace");
+  }
+
+  @AfterMethod
+  public void deleteTrace() {
+    trace.delete();
+  }
+
+  @Test
+  public void replaysRecordedOperations() throws Exception {
+    Properties p = getProperties();
+    MockDB recorded = record(p);
+    // the load is not recorded
+    assertEquals(recorded.operations.size(), 100);
+    // hashed keys have up to 19 digits, and all of them are kept
+    Set<String> keys = new HashSet<>();
+    for (String operation : recorded.operations) {
+      keys.add(operation.substring(operation.indexOf(' ') + 1));
+    }
+    assertTrue(keys.size() > 10);
+
+    MockDB replayed = replay(p);
+    assertEquals(replayed.operations, recorded.operations);
+  }
+
+  @Test
+  public void replaysOrderedKeys() throws Exception {
+    Properties p = getProperties();
+    p.setProperty(CoreWorkload.INSERT_ORDER_PROPERTY, "ordered");
+    MockDB recorded = record(p);
+    assertEquals(replay(p).operations, recorded.operations);
+  }
+
+  @Test
+  public void replaysThreadsInIssueOrder() throws Exception {
+    Properties p = getProperties();
+    p.setProperty(CoreWorkload.INSERT_ORDER_PROPERTY, "ordered");
+    p.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    p.setProperty(CoreWorkload.INSERT_PROPORTION_PROPERTY, "0.5");
+    // read the keys just inserted, by any thread
+    p.setProperty(CoreWorkload.REQUEST_DISTRIBUTION_PROPERTY, "latest");
+    int threads = 4;
+    // enough operations per thread for several chunks of each of them
+    int operations = 10000;
+    MockDB recorded = new MockDB();
+    TraceRecordingWorkload workload = new TraceRecordingWorkload();
+    workload.init(p);
+    List<Thread> clients = new ArrayList<>();
+    CyclicBarrier start = new CyclicBarrier(threads);
+    for (int t = 0; t < threads; t++) {
+      Object state = workload.initThread(p, t, threads);
+      clients.add(new Thread(() -> {
+        try {
+          start.await();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+        for (int i = 0; i < operations; i++) {
+          assertTrue(workload.doTransaction(recorded, state));
+        }
+      }));
+    }
+    for (Thread client : clients) {
+      client.start();
+    }
+    for (Thread client : clients) {
+      client.join();
+    }
+    workload.cleanup();
+    assertEquals(recorded.operations.size(), threads * operations);
+
+    List<String> replayed = replay(p).operations;
+    List<String> expected = new ArrayList<>(recorded.operations);
+    List<String> actual = new ArrayList<>(replayed);
+    Collections.sort(expected);
+    Collections.sort(actual);
+    assertEquals(actual, expected);
+    // a key inserted during the run is only read once inserted
+    Set<String> inserted = new HashSet<>();
+    for (String operation : replayed) {
+      String key = operation.substring(operation.indexOf(' ') + 1);
+      if (operation.startsWith("INSERT ")) {
+        inserted.add(key);
+      } else if (Long.parseLong(key.substring("user".length())) >= 20) {
+        assertTrue(inserted.contains(key), operation + " before its insert");
+      }
+    }
+  }
+
+  @Test (expectedExceptions = WorkloadException.class)
+  public void rejectsOtherInsertOrder() throws Exception {
+    Properties p = getProperties();
+    record(p);
+    p.setProperty(CoreWorkload.INSERT_ORDER_PROPERTY, "ordered");
+    replay(p);
+  }
+
+  @Test (expectedExceptions = IllegalArgumentException.class)
+  public void rejectsKeysWithoutNumber() {
+    TraceFormat.trailingNumber("user");
+  }
+
+  @Test
+  public void parsesAnyKeyNumber() {
+    assertEquals(TraceFormat.trailingNumber("user9223372036854775807"), Long.MAX_VALUE);
+    assertEquals(TraceFormat.trailingNumber("user-9223372036854775808"), Long.MIN_VALUE);
+    assertEquals(TraceFormat.trailingNumber("user00042"), 42);
+  }
+
+  private Properties getProperties() {
+    Properties p = new Properties();
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "20");
+    p.setProperty(Client.OPERATION_COUNT_PROPERTY, "100");
+    p.setProperty(CoreWorkload.FIELD_COUNT_PROPERTY, "2");
+    p.setProperty(CoreWorkload.FIELD_LENGTH_PROPERTY, "4");
+    p.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(TraceRecordingWorkload.TRACE_FILE_PROPERTY, trace.getPath());
+    Measurements.setProperties(p);
+    return p;
+  }
+
+  private MockDB record(Properties p) throws WorkloadException {
+    MockDB db = new MockDB();
+    TraceRecordingWorkload workload = new TraceRecordingWorkload();
+    workload.init(p);
+    Object state = workload.initThread(p, 0, 1);
+    MockDB load = new MockDB();
+    for (int i = 0; i < 20; i++) {
+      assertTrue(workload.doInsert(load, state));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertTrue(workload.doTransaction(db, state));
+    }
+    workload.cleanup();
+    return db;
+  }
+
+  private MockDB replay(Properties p) throws WorkloadException {
+    MockDB db = new MockDB();
+    TraceReplayWorkload workload = new TraceReplayWorkload();
+    workload.init(p);
+    Object state = workload.initThread(p, 0, 1);
+    while (workload.doTransaction(db, state)) {
+      // replay the whole trace
+    }
+    workload.cleanup();
+    return db;
+  }
+
+  /**
+   * A DB listing the operations and keys it is sent.
+   */
+  static class MockDB extends DB {
+    final List<String> operations = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Status read(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                       Holder<Map<ByteIterator, ByteIterator>> result) {
+      operations.add("READ " + key);
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(ByteIterator table, ByteIterator startkey, int recordcount, Set<ByteIterator> fields,
+                       Vector<HashMap<ByteIterator, ByteIterator>> result) {
+      operations.add("SCAN " + startkey);
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+      operations.add("UPDATE " + key);
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(ByteIterator table, ByteIterator key, Map<ByteIterator, ByteIterator> values) {
+      operations.add("INSERT " + key);
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(ByteIterator table, ByteIterator key) {
+      operations.add("DELETE " + key);
+      return Status.OK;
+    }
+  }
+}
@@ -17,9 +17,10 @@
 
 package site.ycsb.db;
 
+import site.ycsb.AsyncDB;
 import site.ycsb.ByteIterator;
-import site.ycsb.DB;
 import site.ycsb.DBException;
+import site.ycsb.KeyByteIterator;
 import site.ycsb.Status;
 
 import org.infinispan.Cache;
@@ -30,11 +31,15 @@ import org.infinispan.util.logging.LogFactory;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
 import javax.xml.ws.Holder;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -45,8 +50,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * We replaced Cache<String, Map<String, String>>
  *   with Cache<ByteIterator, Map<ByteIterator, ByteIterator>>
  * to match and be consistent with other backends.
+ *
+ * The asynchronous operations use the asynchronous API of the cache, so that a client thread may keep
+ * several of them in flight (see the "pipeline.depth" property).
  */
-public class InfinispanClient extends DB {
+public class InfinispanClient extends AsyncDB {
   private static final Log LOGGER = LogFactory.getLog(InfinispanClient.class);
 
   private static EmbeddedCacheManager infinispanManager;
@@ -146,7 +154,9 @@ public class InfinispanClient extends DB {
         return Status.ERROR; //Should be found, no silent fail
       }
       row.putAll(values);
-      cache.put(key, row); //always put back into the store, for the persistent layer to properly work
+      // the key of a client thread reusing its keys must not be retained by the cache
+      ByteIterator retained = key instanceof KeyByteIterator ? key.toStringByteIterator() : key;
+      cache.put(retained, row); //always put back into the store, for the persistent layer to properly work
 
       /*
       StringByteIterator.putAllAsStrings(row, values);
@@ -180,6 +190,135 @@ public class InfinispanClient extends DB {
     }
   }
 
+  @Override
+  public Status multiRead(ByteIterator table, List<ByteIterator> keys, Set<ByteIterator> fields,
+                          List<Map<ByteIterator, ByteIterator>> results) {
+    String cacheName = table.toString();
+    try {
+      Cache<ByteIterator, Map<ByteIterator, ByteIterator>> cache = infinispanManager.getCache(cacheName);
+      Map<ByteIterator, Map<ByteIterator, ByteIterator>> rows = cache.getAdvancedCache().getAll(new HashSet<>(keys));
+
+      Status status = Status.OK;
+      for (ByteIterator key : keys) {
+        Map<ByteIterator, ByteIterator> row = rows.get(key);
+        if (row == null) {
+          status = Status.ERROR;
+        }
+        // Do not bother returning only selected fields, always return all of them.
+        results.add(row);
+      }
+      return status;
+    } catch (Exception e) {
+      LOGGER.error(e);
+      return Status.ERROR;
+    }
+  }
+
+  @Override
+  public Status multiUpdate(ByteIterator table, List<ByteIterator> keys,
+                            List<Map<ByteIterator, ByteIterator>> values) {
+    String cacheName = table.toString();
+    try {
+      Cache<ByteIterator, Map<ByteIterator, ByteIterator>> cache = infinispanManager.getCache(cacheName);
+      Map<ByteIterator, Map<ByteIterator, ByteIterator>> rows = cache.getAdvancedCache().getAll(new HashSet<>(keys));
+
+      for (int i = 0; i < keys.size(); i++) {
+        Map<ByteIterator, ByteIterator> row = rows.get(keys.get(i));
+        if (row == null) {
+          return Status.ERROR; //Should be found, no silent fail
+        }
+        row.putAll(values.get(i));
+      }
+      cache.putAll(rows); //always put back into the store, for the persistent layer to properly work
+      return Status.OK;
+    } catch (Exception e) {
+      LOGGER.error(e);
+      return Status.ERROR;
+    }
+  }
+
+  @Override
+  public Status multiInsert(ByteIterator table, List<ByteIterator> keys,
+                            List<Map<ByteIterator, ByteIterator>> values) {
+    String cacheName = table.toString();
+    try {
+      Map<ByteIterator, Map<ByteIterator, ByteIterator>> rows = new HashMap<>();
+      for (int i = 0; i < keys.size(); i++) {
+        Map<ByteIterator, ByteIterator> row = new HashMap<>();
+        row.putAll(values.get(i));
+        rows.put(keys.get(i), row);
+      }
+      infinispanManager.getCache(cacheName).putAll(rows);
+      return Status.OK;
+    } catch (Exception e) {
+      LOGGER.error(e);
+      return Status.ERROR;
+    }
+  }
+
+  @Override
+  public CompletionStage<Status> readAsync(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
+                                           Holder<Map<ByteIterator, ByteIterator>> result) {
+    String cacheName = table.toString();
+    Cache<ByteIterator, Map<ByteIterator, ByteIterator>> cache = infinispanManager.getCache(cacheName);
+    return cache.getAsync(key).handle((row, e) -> {
+      if (e != null) {
+        LOGGER.error(e);
+        return Status.ERROR;
+      }
+      if (row == null) {
+        return Status.ERROR;
+      }
+      // Do not bother returning only selected fields, always return all of them.
+      result.value = row;
+      return Status.OK;
+    });
+  }
+
+  @Override
+  public CompletionStage<Status> scanAsync(ByteIterator table, ByteIterator startkey, int recordcount,
+                                           Set<ByteIterator> fields,
+                                           Vector<HashMap<ByteIterator, ByteIterator>> result) {
+    return CompletableFuture.completedFuture(scan(table, startkey, recordcount, fields, result));
+  }
+
+  @Override
+  public CompletionStage<Status> updateAsync(ByteIterator table, ByteIterator key,
+                                             Map<ByteIterator, ByteIterator> values) {
+    String cacheName = table.toString();
+    Cache<ByteIterator, Map<ByteIterator, ByteIterator>> cache = infinispanManager.getCache(cacheName);
+    return cache.getAsync(key).thenCompose(row -> {
+      if (row == null) {
+        return CompletableFuture.completedFuture(Status.ERROR); //Should be found, no silent fail
+      }
+      row.putAll(values);
+      //always put back into the store, for the persistent layer to properly work
+      return cache.putAsync(key, row).thenApply(previous -> Status.OK);
+    }).exceptionally(InfinispanClient::failed);
+  }
+
+  @Override
+  public CompletionStage<Status> insertAsync(ByteIterator table, ByteIterator key,
+                                             Map<ByteIterator, ByteIterator> values) {
+    String cacheName = table.toString();
+    Map<ByteIterator, ByteIterator> row = new HashMap<>();
+    row.putAll(values);
+    Cache<ByteIterator, Map<ByteIterator, ByteIterator>> cache = infinispanManager.getCache(cacheName);
+    return cache.putAsync(key, row).thenApply(previous -> Status.OK).exceptionally(InfinispanClient::failed);
+  }
+
+  @Override
+  public CompletionStage<Status> deleteAsync(ByteIterator table, ByteIterator key) {
+    String cacheName = table.toString();
+    Cache<ByteIterator, Map<ByteIterator, ByteIterator>> cache = infinispanManager.getCache(cacheName);
+    return cache.removeAsync(key).thenApply(previous -> Status.OK).exceptionally(InfinispanClient::failed);
+  }
+
+  private static Status failed(Throwable e) {
+    LOGGER.error(e);
+    return Status.ERROR;
+  }
+
   public Status delete(ByteIterator table, ByteIterator key) {
     String cacheName = table.toString();
     try {
@@ -83,6 +83,14 @@ public class InfinispanJNVMClient extends DB {
     }
   }
 
+  /**
+   * Updates are guarded by a monitor on the row, which pins virtual threads to their carrier.
+   */
+  @Override
+  public boolean supportsVirtualThreads() {
+    return false;
+  }
+
   public Status read(ByteIterator table, ByteIterator key, Set<ByteIterator> fields,
                      Holder<Map<ByteIterator, ByteIterator>> result) {
     String cacheName = table.toString();